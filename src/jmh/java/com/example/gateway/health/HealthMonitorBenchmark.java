@@ -0,0 +1,57 @@
+package com.example.gateway.health;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.gateway.config.GatewayConfig;
+
+import reactor.core.publisher.Mono;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealthMonitorBenchmark {
+    @Param({"10", "1000", "10000"})
+    int instanceCount;
+
+    private HealthMonitor healthMonitor;
+    private String[] instanceIds;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+        healthMonitor = new HealthMonitor(webClientBuilder, new GatewayConfig());
+        instanceIds = new String[instanceCount];
+        for (int i = 0; i < instanceCount; i++) {
+            instanceIds[i] = "instance-" + i;
+            healthMonitor.checkHealth(instanceIds[i], "http://localhost:8080", "/actuator/health").block();
+        }
+    }
+
+    @Benchmark
+    public boolean isServiceHealthy(Cursor cursor) {
+        return healthMonitor.isServiceHealthy(instanceIds[cursor.next++ % instanceIds.length]);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.gateway.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayMetricsBenchmark {
+    private GatewayMetrics metrics;
+    private GatewayConfig.ServiceConfig service;
+    private GatewayConfig.ServiceInstance instance;
+
+    @Setup
+    public void setUp() {
+        instance = new GatewayConfig.ServiceInstance();
+        instance.setId("bench-instance");
+        service = new GatewayConfig.ServiceConfig();
+        service.setId("bench-service");
+        service.setInstances(List.of(instance));
+        GatewayConfig config = new GatewayConfig();
+        config.setServices(List.of(service));
+        metrics = new GatewayMetrics(new SimpleMeterRegistry(), config, new InstanceTelemetryCollector(WebClient.builder()));
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        GatewayMetrics.RouteMeters route = metrics.route(service);
+        long start = System.nanoTime();
+        route.requestStarted();
+        metrics.recordInstanceLatency(service, instance, System.nanoTime() - start);
+        route.record(System.nanoTime() - start, true);
+        route.requestFinished();
+    }
+}
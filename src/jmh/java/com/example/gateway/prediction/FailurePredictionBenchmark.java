@@ -0,0 +1,69 @@
+package com.example.gateway.prediction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FailurePredictionBenchmark {
+    @Param({"1", "100", "1000"})
+    int serviceCount;
+
+    @Param({"64", "256", "1024"})
+    int windowSize;
+
+    private FailurePredictionEngine predictionEngine;
+    private String[] serviceIds;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        predictionEngine = new FailurePredictionEngine(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        serviceIds = new String[serviceCount];
+        for (int s = 0; s < serviceCount; s++) {
+            serviceIds[s] = "service-" + s;
+        }
+        for (String serviceId : serviceIds) {
+            for (int i = 0; i < windowSize; i++) {
+                predictionEngine.recordMetric(serviceId, 50.0 + i % 200, i % 17 != 0, 0.4, 0.6, i % 100);
+            }
+        }
+        predictionEngine.trainModels(windowSize);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void recordMetric(Cursor cursor) {
+        int next = cursor.next++;
+        predictionEngine.recordMetric(serviceIds[next % serviceIds.length], 120.0, (next & 15) != 0, 0.5, 0.5, 42);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double predictAllServices() {
+        double risk = 0.0;
+        for (String serviceId : serviceIds) {
+            risk += predictionEngine.predictFailure(serviceId, 5).getRiskScore();
+        }
+        return risk;
+    }
+}
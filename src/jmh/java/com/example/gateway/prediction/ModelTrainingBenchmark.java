@@ -0,0 +1,60 @@
+package com.example.gateway.prediction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one training pass over a full batch of fresh samples per service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelTrainingBenchmark {
+    @Param({"1", "100", "1000"})
+    int serviceCount;
+
+    @Param({"64", "256", "1024"})
+    int windowSize;
+
+    private FailurePredictionEngine predictionEngine;
+    private String[] serviceIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        predictionEngine = new FailurePredictionEngine(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        serviceIds = new String[serviceCount];
+        for (int s = 0; s < serviceCount; s++) {
+            serviceIds[s] = "service-" + s;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fillWindow() {
+        for (String serviceId : serviceIds) {
+            for (int i = 0; i < windowSize; i++) {
+                predictionEngine.recordMetric(serviceId, 50.0 + i % 200, i % 17 != 0, 0.4, 0.6, i % 100);
+            }
+        }
+    }
+
+    @Benchmark
+    public void trainModels() {
+        predictionEngine.trainModels(windowSize);
+    }
+}
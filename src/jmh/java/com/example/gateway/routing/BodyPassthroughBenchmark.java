@@ -0,0 +1,81 @@
+package com.example.gateway.routing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Compares the streaming body passthrough used by failover redirects with the
+ * String aggregation it replaced, so body handling regressions show up in the
+ * gc profiler's allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyPassthroughBenchmark {
+    @Param({"4", "64"})
+    int chunkCount;
+
+    @Param({"1024", "16384"})
+    int chunkSize;
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private byte[][] chunks;
+
+    @Setup
+    public void setUp() {
+        chunks = new byte[chunkCount][chunkSize];
+        for (byte[] chunk : chunks) {
+            ThreadLocalRandom.current().nextBytes(chunk);
+        }
+    }
+
+    @Benchmark
+    public Long streamingPassthrough() {
+        return Flux.fromArray(chunks)
+            .map(bufferFactory::wrap)
+            .map(buffer -> {
+                long readable = buffer.readableByteCount();
+                DataBufferUtils.release(buffer);
+                return readable;
+            })
+            .reduce(0L, Long::sum)
+            .block();
+    }
+
+    @Benchmark
+    public Integer stringAggregation() {
+        return Flux.fromArray(chunks)
+            .map(bufferFactory::wrap)
+            .map(dataBuffer -> {
+                byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                dataBuffer.read(bytes);
+                return new String(bytes);
+            })
+            .reduce("", String::concat)
+            .map(body -> {
+                DataBuffer buffer = bufferFactory.wrap(body.getBytes());
+                return buffer.readableByteCount();
+            })
+            .block();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.gateway.routing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderFilterBenchmark {
+    private final String[] headers = {
+        "Host", "User-Agent", "Accept", "Accept-Encoding", "Accept-Language", "Content-Type",
+        "Content-Length", "Authorization", "Cookie", "X-Forwarded-For", "X-Request-Id", "Transfer-Encoding"
+    };
+
+    @Benchmark
+    public int shouldSkipHeader() {
+        int skipped = 0;
+        for (String header : headers) {
+            if (SelfHealingRouteManager.shouldSkipHeader(header)) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+}
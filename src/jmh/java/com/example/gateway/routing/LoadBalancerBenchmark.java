@@ -0,0 +1,127 @@
+package com.example.gateway.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.gateway.cache.ResponseCacheManager;
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.metrics.GatewayMetrics;
+import com.example.gateway.prediction.FailurePredictionEngine;
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBalancerBenchmark {
+    @Param({"3", "30", "300"})
+    int instanceCount;
+
+    @Param({"1", "100"})
+    int serviceCount;
+
+    @Param({"WEIGHTED_RANDOM", "LEAST_LOADED", "CONSISTENT_HASH"})
+    GatewayConfig.LoadBalancingMode mode;
+
+    private GatewayConfig.ServiceConfig[] services;
+    private long[] keyHashes;
+    private LoadBalancer loadBalancer;
+    private SelfHealingRouteManager routeManager;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        GatewayConfig config = new GatewayConfig();
+        List<GatewayConfig.ServiceConfig> serviceConfigs = new ArrayList<>();
+        for (int s = 0; s < serviceCount; s++) {
+            GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+            service.setId("service-" + s);
+            service.setPath("/api/service-" + s + "/**");
+            service.setFallbackStrategy(GatewayConfig.FallbackStrategy.FAILOVER_INSTANCE);
+            service.setLoadBalancingMode(mode);
+            List<GatewayConfig.ServiceInstance> instances = new ArrayList<>();
+            for (int i = 0; i < instanceCount; i++) {
+                GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+                instance.setId(service.getId() + "-" + i);
+                instance.setUrl("http://10.0." + s % 250 + "." + i % 250 + ":8080");
+                instance.setWeight(50 + (i * 37) % 100);
+                instances.add(instance);
+            }
+            service.setInstances(instances);
+            serviceConfigs.add(service);
+        }
+        config.setServices(serviceConfigs);
+        services = serviceConfigs.toArray(new GatewayConfig.ServiceConfig[0]);
+        keyHashes = new long[1024];
+        for (int k = 0; k < keyHashes.length; k++) {
+            keyHashes[k] = ConsistentHashRing.hash("user-" + k);
+        }
+
+        HealthMonitor healthMonitor = new HealthMonitor(WebClient.builder(), config) {
+            @Override
+            public boolean isServiceHealthy(String serviceID) {
+                return true;
+            }
+        };
+        CircuitBreakerManager circuitBreakerManager = new CircuitBreakerManager();
+        InstanceTelemetryCollector telemetryCollector = new InstanceTelemetryCollector(WebClient.builder());
+        loadBalancer = new LoadBalancer(config, healthMonitor, circuitBreakerManager, telemetryCollector);
+        FailurePredictionEngine predictionEngine = new FailurePredictionEngine(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        routeManager = new SelfHealingRouteManager(config, predictionEngine, healthMonitor, loadBalancer, telemetryCollector, circuitBreakerManager, new ResponseCacheManager(), new GatewayMetrics(new SimpleMeterRegistry(), config, telemetryCollector), WebClient.builder());
+    }
+
+    @Benchmark
+    public String selectHealthyInstance(Cursor cursor) {
+        return routeManager.selectHealthyInstance(services[cursor.next++ % services.length]);
+    }
+
+    @Benchmark
+    public GatewayConfig.ServiceInstance choose(Cursor cursor) {
+        return loadBalancer.choose(services[cursor.next++ % services.length]);
+    }
+
+    @Benchmark
+    public GatewayConfig.ServiceInstance chooseByKey(Cursor cursor) {
+        int next = cursor.next++;
+        return loadBalancer.chooseByKey(services[next % services.length], keyHashes[next & (keyHashes.length - 1)]);
+    }
+
+    @Benchmark
+    public GatewayConfig.ServiceInstance findNextHealthyInstance(Cursor cursor) {
+        int next = cursor.next++;
+        InstanceSnapshot snapshot = loadBalancer.snapshot(services[next % services.length]);
+        return snapshot.get(next % snapshot.size());
+    }
+
+    @Benchmark
+    public InstanceSnapshot rebuildSnapshot(Cursor cursor) {
+        GatewayConfig.ServiceConfig service = services[cursor.next++ % services.length];
+        loadBalancer.refresh(service);
+        return loadBalancer.snapshot(service);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.gateway.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Identifies a cached response by method, raw path, raw query and the values of the
+ * route's configured key headers.
+ */
+public record CacheKey(String method, String path, String query, List<String> headerValues) {
+
+    public static CacheKey of(ServerHttpRequest request, List<String> keyHeaders) {
+        List<String> headerValues = new ArrayList<>(keyHeaders.size());
+        for (String header : keyHeaders) {
+            List<String> values = request.getHeaders().get(header);
+            headerValues.add(values == null ? "" : String.join(",", values));
+        }
+        String query = request.getURI().getRawQuery();
+        return new CacheKey(request.getMethod().name(), request.getURI().getRawPath(), query == null ? "" : query, headerValues);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.gateway.cache;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * An immutable captured upstream response. The body is either a heap buffer or, in
+ * off-heap mode, a direct buffer whose bytes the garbage collector never scans or
+ * copies.
+ */
+public final class CachedResponse {
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final ByteBuffer body;
+    private final long storedAtNanos;
+    private final int weight;
+
+    CachedResponse(int statusCode, HttpHeaders headers, byte[] body, boolean offHeap, long storedAtNanos) {
+        this.statusCode = statusCode;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = offHeap ? ByteBuffer.allocateDirect(body.length).put(body).flip() : ByteBuffer.wrap(body);
+        this.storedAtNanos = storedAtNanos;
+        this.weight = ENTRY_OVERHEAD_BYTES + body.length + headerBytes(headers);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * A read-only view of the body; each caller gets its own position and limit.
+     */
+    public ByteBuffer body() {
+        return body.asReadOnlyBuffer();
+    }
+
+    public int getBodyLength() {
+        return body.capacity();
+    }
+
+    public long getStoredAtNanos() {
+        return storedAtNanos;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    private static int headerBytes(HttpHeaders headers) {
+        int bytes = 0;
+        for (var entry : headers.entrySet()) {
+            for (String value : entry.getValue()) {
+                bytes += entry.getKey().length() + value.length() + 4;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.gateway.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tees a cacheable upstream response into the route's {@link ResponseCache} while it
+ * streams to the client. Capture is abandoned as soon as the body outgrows the
+ * per-entry limit, and gateway-generated fallback bodies opt out via {@link #skipCapture()}.
+ */
+public class CachingResponseDecorator extends ServerHttpResponseDecorator {
+    private static final Set<String> UNCACHEABLE_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding", "content-length", "set-cookie", "date", "age", "x-cache");
+
+    private final ResponseCache cache;
+    private final CacheKey key;
+    private volatile boolean captureSkipped;
+
+    public CachingResponseDecorator(ServerHttpResponse delegate, ResponseCache cache, CacheKey key) {
+        super(delegate);
+        this.cache = cache;
+        this.key = key;
+    }
+
+    public void skipCapture() {
+        captureSkipped = true;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        HttpStatusCode status = getStatusCode();
+        if (captureSkipped || status == null || !cache.accepts(status.value(), getHeaders(), getHeaders().getContentLength())) {
+            return super.writeWith(body);
+        }
+
+        BodyCapture capture = new BodyCapture(cache.getMaxEntryBytes());
+        Flux<? extends DataBuffer> captured = Flux.from(body)
+            .doOnNext(capture::append)
+            .doOnComplete(() -> {
+                if (!capture.overflowed && !captureSkipped) {
+                    cache.put(key, status.value(), cacheableHeaders(getHeaders()), capture.bytes.toByteArray());
+                }
+            });
+        return super.writeWith(captured);
+    }
+
+    public static HttpHeaders cacheableHeaders(HttpHeaders source) {
+        HttpHeaders headers = new HttpHeaders();
+        source.forEach((name, values) -> {
+            if (!UNCACHEABLE_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private static final class BodyCapture {
+        private final int limit;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean overflowed;
+
+        private BodyCapture(int limit) {
+            this.limit = limit;
+        }
+
+        private void append(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (overflowed || bytes.size() + length > limit) {
+                overflowed = true;
+                return;
+            }
+            byte[] chunk = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            bytes.writeBytes(chunk);
+        }
+    }
+}
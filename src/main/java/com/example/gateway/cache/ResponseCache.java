@@ -0,0 +1,113 @@
+package com.example.gateway.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+
+import com.example.gateway.config.GatewayConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * A route's response cache. Bounded by the summed byte weight of its entries and
+ * evicted by Caffeine's W-TinyLFU policy, so one burst of unique URLs cannot flush
+ * the responses that are actually requested often.
+ */
+public class ResponseCache {
+    private final GatewayConfig.CacheConfig config;
+    private final Ticker ticker;
+    private final Cache<CacheKey, CachedResponse> entries;
+    private final Set<CacheKey> revalidating = ConcurrentHashMap.newKeySet();
+
+    public enum Freshness {
+        FRESH,
+        STALE_WHILE_REVALIDATE,
+        STALE_IF_ERROR,
+        EXPIRED
+    }
+
+    public ResponseCache(GatewayConfig.CacheConfig config) {
+        this(config, Ticker.systemTicker());
+    }
+
+    ResponseCache(GatewayConfig.CacheConfig config, Ticker ticker) {
+        this.config = config;
+        this.ticker = ticker;
+        long retentionSeconds = config.getTtlSeconds() + Math.max(config.getStaleWhileRevalidateSeconds(), config.getStaleIfErrorSeconds());
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(config.getMaxSizeBytes())
+            .weigher((CacheKey key, CachedResponse response) -> response.getWeight())
+            .expireAfterWrite(Duration.ofSeconds(Math.max(retentionSeconds, 1)))
+            .ticker(ticker)
+            .build();
+    }
+
+    public CachedResponse get(CacheKey key) {
+        return entries.getIfPresent(key);
+    }
+
+    public boolean accepts(int statusCode, HttpHeaders headers, long contentLength) {
+        if (statusCode < 200 || statusCode >= 300 || contentLength > config.getMaxEntryBytes()) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    public void put(CacheKey key, int statusCode, HttpHeaders headers, byte[] body) {
+        if (body.length > config.getMaxEntryBytes()) {
+            return;
+        }
+        entries.put(key, new CachedResponse(statusCode, headers, body, config.isOffHeap(), ticker.read()));
+    }
+
+    public Freshness freshness(CachedResponse response) {
+        long age = ticker.read() - response.getStoredAtNanos();
+        long ttl = TimeUnit.SECONDS.toNanos(config.getTtlSeconds());
+        if (age <= ttl && ttl > 0) {
+            return Freshness.FRESH;
+        }
+        if (age <= ttl + TimeUnit.SECONDS.toNanos(config.getStaleWhileRevalidateSeconds()) && config.getStaleWhileRevalidateSeconds() > 0) {
+            return Freshness.STALE_WHILE_REVALIDATE;
+        }
+        if (age <= ttl + TimeUnit.SECONDS.toNanos(config.getStaleIfErrorSeconds())) {
+            return Freshness.STALE_IF_ERROR;
+        }
+        return Freshness.EXPIRED;
+    }
+
+    /**
+     * Claims the background revalidation of a key; only one refresh per key runs at a time.
+     */
+    public boolean beginRevalidation(CacheKey key) {
+        return revalidating.add(key);
+    }
+
+    public void endRevalidation(CacheKey key) {
+        revalidating.remove(key);
+    }
+
+    public int getMaxEntryBytes() {
+        return config.getMaxEntryBytes();
+    }
+
+    public long estimatedSize() {
+        return entries.estimatedSize();
+    }
+
+    public long weightedSize() {
+        return entries.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    void cleanUp() {
+        entries.cleanUp();
+    }
+}
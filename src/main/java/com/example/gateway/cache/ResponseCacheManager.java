@@ -0,0 +1,85 @@
+package com.example.gateway.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.gateway.config.GatewayConfig;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds one {@link ResponseCache} per route. A route only caches when its cache is
+ * enabled and something can serve from it: the CACHED_RESPONSE or HYBRID fallback,
+ * or a non-zero fresh or stale-while-revalidate window.
+ */
+@Component
+public class ResponseCacheManager {
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ConcurrentHashMap<String, ResponseCache> caches = new ConcurrentHashMap<>();
+
+    public ResponseCache cacheFor(GatewayConfig.ServiceConfig service) {
+        GatewayConfig.CacheConfig cacheConfig = service.getCache();
+        if (cacheConfig == null || !cacheConfig.isEnabled() || !servesFromCache(service)) {
+            return null;
+        }
+        ResponseCache cache = caches.get(service.getId());
+        return cache != null ? cache : caches.computeIfAbsent(service.getId(), id -> new ResponseCache(cacheConfig));
+    }
+
+    public void evict(String serviceId) {
+        ResponseCache cache = caches.remove(serviceId);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Only plain GETs are cached. Requests carrying credentials are left alone unless
+     * the credential header is part of the cache key, so one caller's response is
+     * never served to another.
+     */
+    public static boolean isCacheable(ServerHttpRequest request, GatewayConfig.CacheConfig cacheConfig) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        HttpHeaders headers = request.getHeaders();
+        return !(headers.containsKey(HttpHeaders.AUTHORIZATION) && !containsIgnoreCase(cacheConfig.getKeyHeaders(), HttpHeaders.AUTHORIZATION))
+            && !(headers.containsKey(HttpHeaders.COOKIE) && !containsIgnoreCase(cacheConfig.getKeyHeaders(), HttpHeaders.COOKIE));
+    }
+
+    public Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response instanceof CachingResponseDecorator decorator) {
+            decorator.skipCapture();
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatusCode()));
+        HttpHeaders headers = response.getHeaders();
+        headers.addAll(cached.getHeaders());
+        headers.set(HttpHeaders.AGE, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - cached.getStoredAtNanos())));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        headers.setContentLength(cached.getBodyLength());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean servesFromCache(GatewayConfig.ServiceConfig service) {
+        GatewayConfig.CacheConfig cacheConfig = service.getCache();
+        return service.getFallbackStrategy() == GatewayConfig.FallbackStrategy.CACHED_RESPONSE
+            || service.getFallbackStrategy() == GatewayConfig.FallbackStrategy.HYBRID
+            || cacheConfig.getTtlSeconds() > 0
+            || cacheConfig.getStaleWhileRevalidateSeconds() > 0;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String candidate) {
+        return values.stream().anyMatch(candidate::equalsIgnoreCase);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.gateway.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.gateway.config.GatewayConfig;
+
+/**
+ * Default peer discovery and transport; either can be replaced by declaring a bean
+ * of the same type.
+ */
+@Configuration
+public class ClusterConfiguration {
+    @Bean
+    @ConditionalOnMissingBean
+    public PeerDiscovery peerDiscovery(GatewayConfig gatewayConfig) {
+        return new StaticPeerDiscovery(gatewayConfig);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GossipTransport gossipTransport(WebClient.Builder webClientBuilder, GatewayConfig gatewayConfig) {
+        return new HttpGossipTransport(webClientBuilder, gatewayConfig);
+    }
+}
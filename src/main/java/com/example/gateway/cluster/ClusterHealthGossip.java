@@ -0,0 +1,292 @@
+package com.example.gateway.cluster;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.scheduler.HealthProbeScheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Shares probe results between gateway replicas and splits probing among them.
+ * Every replica probes only the instances that {@link ShardRing} assigns to it among
+ * the replicas it currently hears from. A local probe flip becomes a versioned delta
+ * that is pushed to every peer at once. Peers merge deltas newest-wins, and each
+ * replica only resends deltas that a peer has not acknowledged. Replicas that go
+ * quiet for {@code failureTimeoutMillis} leave the ring, and their shard moves to
+ * the survivors.
+ */
+@Component
+@Slf4j
+public class ClusterHealthGossip implements SmartLifecycle {
+    private final GatewayConfig gatewayConfig;
+    private final HealthMonitor healthMonitor;
+    private final HealthProbeScheduler probeScheduler;
+    private final PeerDiscovery peerDiscovery;
+    private final GossipTransport transport;
+    private final Scheduler scheduler;
+    private final String localId;
+    private final long incarnation = System.nanoTime();
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PeerState> peers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicBoolean roundPending = new AtomicBoolean(false);
+    private volatile List<String> members;
+    private volatile Disposable ticker;
+    private volatile boolean running;
+
+    @Autowired
+    public ClusterHealthGossip(GatewayConfig gatewayConfig, HealthMonitor healthMonitor, HealthProbeScheduler probeScheduler, PeerDiscovery peerDiscovery, GossipTransport transport) {
+        this(gatewayConfig, healthMonitor, probeScheduler, peerDiscovery, transport, Schedulers.parallel());
+    }
+
+    ClusterHealthGossip(GatewayConfig gatewayConfig, HealthMonitor healthMonitor, HealthProbeScheduler probeScheduler, PeerDiscovery peerDiscovery, GossipTransport transport, Scheduler scheduler) {
+        this.gatewayConfig = gatewayConfig;
+        this.healthMonitor = healthMonitor;
+        this.probeScheduler = probeScheduler;
+        this.peerDiscovery = peerDiscovery;
+        this.transport = transport;
+        this.scheduler = scheduler;
+        String nodeId = gatewayConfig.getCluster().getNodeId();
+        this.localId = nodeId != null && !nodeId.isBlank() ? nodeId : "gateway-" + Long.toHexString(incarnation);
+        this.members = List.of(localId);
+        if (gatewayConfig.getCluster().isEnabled()) {
+            this.healthMonitor.addProbeStateListener(this::onLocalProbe);
+            this.probeScheduler.setProbeFilter(this::owns);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !gatewayConfig.getCluster().isEnabled()) {
+            return;
+        }
+        running = true;
+        transport.bind(localId, this::receive);
+        long interval = Math.max(gatewayConfig.getCluster().getGossipIntervalMillis(), 10);
+        ticker = scheduler.schedulePeriodically(this::round, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Joined gateway cluster as {} with {} configured peers", localId, peerDiscovery.peers().size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        transport.unbind(localId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String getLocalId() {
+        return localId;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * Whether this replica is responsible for probing an instance. Without peers, or
+     * with clustering disabled, it probes everything.
+     */
+    public boolean owns(String instanceId) {
+        List<String> current = members;
+        return current.size() <= 1 || localId.equals(ShardRing.owner(instanceId, current));
+    }
+
+    /**
+     * Merges a message from a peer. Deltas that are newer than what is known are
+     * stored, so they are relayed onwards, and applied to the local health monitor.
+     */
+    public void receive(GossipMessage message) {
+        if (!running || localId.equals(message.sender())) {
+            return;
+        }
+        PeerState peer = peers.computeIfAbsent(message.sender(), id -> new PeerState());
+        boolean joined;
+        synchronized (peer) {
+            if (peer.incarnation != message.incarnation()) {
+                peer.incarnation = message.incarnation();
+                peer.acknowledged = 0;
+            }
+            peer.lastSeenNanos = System.nanoTime();
+            joined = !peer.alive;
+            peer.alive = true;
+        }
+        if (joined) {
+            log.info("Gateway peer {} is alive", message.sender());
+            updateMembers();
+        }
+
+        if (message.deltas() == null) {
+            return;
+        }
+        for (GossipMessage.Delta delta : message.deltas()) {
+            clock.accumulateAndGet(delta.version(), Math::max);
+            if (store(delta)) {
+                healthMonitor.applyPeerHealth(delta.instanceId(), delta.healthy());
+            }
+        }
+    }
+
+    private void onLocalProbe(String instanceId, boolean healthy) {
+        long version = clock.updateAndGet(current -> Math.max(current + 1, System.currentTimeMillis() * 1000));
+        if (store(new GossipMessage.Delta(instanceId, healthy, version, localId))) {
+            expedite();
+        }
+    }
+
+    /**
+     * Stores a delta if it is newer than the known one. Stores and round snapshots
+     * share a lock, so a snapshot never misses a sequence below its highest one.
+     */
+    private boolean store(GossipMessage.Delta delta) {
+        synchronized (entries) {
+            Entry current = entries.get(delta.instanceId());
+            if (current != null && !delta.isNewerThan(current.delta())) {
+                return false;
+            }
+            entries.put(delta.instanceId(), new Entry(delta, sequence.incrementAndGet()));
+            return true;
+        }
+    }
+
+    /**
+     * Runs a gossip round right away instead of waiting for the next tick, so a flip
+     * reaches every peer within one network round trip.
+     */
+    private void expedite() {
+        if (running && roundPending.compareAndSet(false, true)) {
+            scheduler.schedule(this::round);
+        }
+    }
+
+    private void round() {
+        roundPending.set(false);
+        if (!running) {
+            return;
+        }
+        expirePeers();
+
+        List<Entry> ordered = null;
+        int maxDeltas = Math.max(gatewayConfig.getCluster().getMaxDeltasPerMessage(), 1);
+        for (Peer peer : peerDiscovery.peers()) {
+            PeerState state = peers.computeIfAbsent(peer.id(), id -> new PeerState());
+            long acknowledged = state.acknowledged;
+            List<GossipMessage.Delta> deltas = List.of();
+            long sentUpTo = acknowledged;
+            if (sequence.get() > acknowledged) {
+                if (ordered == null) {
+                    synchronized (entries) {
+                        ordered = new ArrayList<>(entries.values());
+                    }
+                    ordered.sort(Comparator.comparingLong(Entry::sequence));
+                }
+                deltas = new ArrayList<>();
+                for (Entry entry : ordered) {
+                    if (entry.sequence() <= acknowledged) {
+                        continue;
+                    }
+                    if (deltas.size() == maxDeltas) {
+                        break;
+                    }
+                    sentUpTo = entry.sequence();
+                    if (!entry.delta().origin().equals(peer.id())) {
+                        deltas.add(entry.delta());
+                    }
+                }
+            }
+
+            long upTo = sentUpTo;
+            long sentIncarnation = state.incarnation;
+            transport.send(peer, new GossipMessage(localId, incarnation, deltas)).subscribe(null, error -> {
+                log.debug("Gossip to peer {} failed: {}", peer.id(), error.getMessage());
+            }, () -> {
+                synchronized (state) {
+                    if (state.incarnation == sentIncarnation && upTo > state.acknowledged) {
+                        state.acknowledged = upTo;
+                    }
+                }
+            });
+        }
+    }
+
+    private void expirePeers() {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(gatewayConfig.getCluster().getFailureTimeoutMillis());
+        long now = System.nanoTime();
+        boolean changed = false;
+        for (Map.Entry<String, PeerState> entry : peers.entrySet()) {
+            PeerState peer = entry.getValue();
+            synchronized (peer) {
+                if (peer.alive && now - peer.lastSeenNanos > timeoutNanos) {
+                    peer.alive = false;
+                    changed = true;
+                    log.warn("Gateway peer {} has not been heard from in {} ms, taking over its shard", entry.getKey(), gatewayConfig.getCluster().getFailureTimeoutMillis());
+                }
+            }
+        }
+        if (changed) {
+            updateMembers();
+        }
+    }
+
+    private synchronized void updateMembers() {
+        List<String> next = new ArrayList<>();
+        next.add(localId);
+        peers.forEach((id, peer) -> {
+            if (peer.alive) {
+                next.add(id);
+            }
+        });
+        next.sort(null);
+        if (!next.equals(members)) {
+            members = List.copyOf(next);
+            log.info("Gateway cluster members: {}", members);
+            probeScheduler.reconcile();
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("enabled", gatewayConfig.getCluster().isEnabled());
+        description.put("localId", localId);
+        description.put("members", members);
+        description.put("trackedInstances", entries.size());
+        return description;
+    }
+
+    private record Entry(GossipMessage.Delta delta, long sequence) {
+    }
+
+    private static final class PeerState {
+        private long incarnation;
+        private volatile long acknowledged;
+        private long lastSeenNanos;
+        private boolean alive;
+    }
+}
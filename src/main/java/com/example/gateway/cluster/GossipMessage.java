@@ -0,0 +1,20 @@
+package com.example.gateway.cluster;
+
+import java.util.List;
+
+/**
+ * One gossip exchange: the sender's identity and incarnation, which changes when the
+ * sender restarts, plus the health deltas the receiver has not acknowledged yet. A
+ * message without deltas doubles as a heartbeat.
+ */
+public record GossipMessage(String sender, long incarnation, List<Delta> deltas) {
+    /**
+     * Probed health of one instance as seen by {@code origin}. Deltas are ordered by
+     * version, with the origin as tie-breaker, and the newest one wins everywhere.
+     */
+    public record Delta(String instanceId, boolean healthy, long version, String origin) {
+        boolean isNewerThan(Delta other) {
+            return other == null || version > other.version || (version == other.version && origin.compareTo(other.origin) > 0);
+        }
+    }
+}
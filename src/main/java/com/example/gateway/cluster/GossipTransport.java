@@ -0,0 +1,20 @@
+package com.example.gateway.cluster;
+
+import java.util.function.Consumer;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Delivers gossip messages between replicas. Transports that deliver in-process
+ * register the local receiver through {@link #bind}; over HTTP, inbound messages
+ * arrive through the cluster endpoint instead.
+ */
+public interface GossipTransport {
+    Mono<Void> send(Peer peer, GossipMessage message);
+
+    default void bind(String localId, Consumer<GossipMessage> receiver) {
+    }
+
+    default void unbind(String localId) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.gateway.cluster;
+
+import java.time.Duration;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.gateway.config.ConnectionPools;
+import com.example.gateway.config.GatewayConfig;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Posts gossip to {@code <peer url>/gateway/cluster/gossip} on a small pool of its
+ * own, so gossip is never stuck behind proxied traffic.
+ */
+public class HttpGossipTransport implements GossipTransport {
+    static final String GOSSIP_PATH = "/gateway/cluster/gossip";
+
+    private final ConnectionPools.PooledWebClient client;
+    private final Duration timeout;
+
+    public HttpGossipTransport(WebClient.Builder webClientBuilder, GatewayConfig gatewayConfig) {
+        GatewayConfig.ConnectionPoolConfig pool = new GatewayConfig.ConnectionPoolConfig();
+        pool.setMaxConnections(Math.max(gatewayConfig.getCluster().getPeers().size() * 2, 2));
+        pool.setConnectTimeoutMillis((int) Math.min(gatewayConfig.getCluster().getFailureTimeoutMillis(), Integer.MAX_VALUE));
+        this.client = ConnectionPools.create("cluster-gossip", pool, webClientBuilder);
+        this.timeout = Duration.ofMillis(gatewayConfig.getCluster().getFailureTimeoutMillis());
+    }
+
+    @Override
+    public Mono<Void> send(Peer peer, GossipMessage message) {
+        return client.webClient().post()
+            .uri(peer.url() + GOSSIP_PATH)
+            .bodyValue(message)
+            .retrieve()
+            .toBodilessEntity()
+            .timeout(timeout)
+            .then();
+    }
+
+    public void shutdown() {
+        client.dispose();
+    }
+}
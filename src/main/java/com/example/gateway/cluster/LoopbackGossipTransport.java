@@ -0,0 +1,45 @@
+package com.example.gateway.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * In-process transport: every replica sharing the same network map receives messages
+ * synchronously. Unbinding a replica makes it unreachable, like a crashed peer.
+ */
+public class LoopbackGossipTransport implements GossipTransport {
+    private final Map<String, Consumer<GossipMessage>> network;
+
+    public LoopbackGossipTransport() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    public LoopbackGossipTransport(Map<String, Consumer<GossipMessage>> network) {
+        this.network = network;
+    }
+
+    @Override
+    public Mono<Void> send(Peer peer, GossipMessage message) {
+        return Mono.defer(() -> {
+            Consumer<GossipMessage> receiver = network.get(peer.id());
+            if (receiver == null) {
+                return Mono.error(new IllegalStateException("Peer " + peer.id() + " is unreachable"));
+            }
+            receiver.accept(message);
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public void bind(String localId, Consumer<GossipMessage> receiver) {
+        network.put(localId, receiver);
+    }
+
+    @Override
+    public void unbind(String localId) {
+        network.remove(localId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.gateway.cluster;
+
+/**
+ * Another gateway replica, addressed by the base URL of its management server.
+ */
+public record Peer(String id, String url) {
+}
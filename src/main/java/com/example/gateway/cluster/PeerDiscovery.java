@@ -0,0 +1,11 @@
+package com.example.gateway.cluster;
+
+import java.util.List;
+
+/**
+ * Source of the other gateway replicas that health state is gossiped to. Liveness is
+ * not its concern; peers only join the shard ring once they have been heard from.
+ */
+public interface PeerDiscovery {
+    List<Peer> peers();
+}
@@ -0,0 +1,25 @@
+package com.example.gateway.cluster;
+
+import java.util.List;
+
+import com.example.gateway.config.GatewayConfig;
+
+/**
+ * Peers listed under {@code gateway.cluster.peers}, minus this replica itself.
+ */
+public class StaticPeerDiscovery implements PeerDiscovery {
+    private final GatewayConfig gatewayConfig;
+
+    public StaticPeerDiscovery(GatewayConfig gatewayConfig) {
+        this.gatewayConfig = gatewayConfig;
+    }
+
+    @Override
+    public List<Peer> peers() {
+        GatewayConfig.ClusterConfig cluster = gatewayConfig.getCluster();
+        return cluster.getPeers().stream()
+            .filter(peer -> peer.getId() != null && !peer.getId().equals(cluster.getNodeId()))
+            .map(peer -> new Peer(peer.getId(), peer.getUrl()))
+            .toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds WebClients that sit on their own Reactor Netty connection pool, so that
+ * one slow upstream, or the health prober, cannot take connections from the rest.
+ * With metrics enabled the pool publishes the {@code reactor.netty.connection.provider}
+ * meters tagged with its name.
+ */
+public final class ConnectionPools {
+    private ConnectionPools() {
+    }
+
+    public static PooledWebClient create(String name, GatewayConfig.ConnectionPoolConfig config, WebClient.Builder webClientBuilder) {
+        ConnectionProvider.Builder pool = ConnectionProvider.builder(name)
+            .maxConnections(Math.max(config.getMaxConnections(), 1))
+            .pendingAcquireMaxCount(config.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(Duration.ofMillis(config.getPendingAcquireTimeoutMillis()))
+            .metrics(config.isMetricsEnabled());
+        if (config.getMaxIdleTimeMillis() > 0) {
+            pool.maxIdleTime(Duration.ofMillis(config.getMaxIdleTimeMillis()));
+        }
+        if (config.getMaxLifeTimeMillis() > 0) {
+            pool.maxLifeTime(Duration.ofMillis(config.getMaxLifeTimeMillis()));
+        }
+        if (config.getEvictInBackgroundMillis() > 0) {
+            pool.evictInBackground(Duration.ofMillis(config.getEvictInBackgroundMillis()));
+        }
+        ConnectionProvider provider = pool.build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.max(config.getConnectTimeoutMillis(), 1));
+        if (config.getResponseTimeoutMillis() > 0) {
+            httpClient = httpClient.responseTimeout(Duration.ofMillis(config.getResponseTimeoutMillis()));
+        }
+        WebClient webClient = webClientBuilder.clone().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+        return new PooledWebClient(provider, webClient);
+    }
+
+    public record PooledWebClient(ConnectionProvider provider, WebClient webClient) {
+        /**
+         * Closes idle connections right away; connections still in use are closed
+         * once their exchange completes.
+         */
+        public void dispose() {
+            provider.disposeLater().subscribe();
+        }
+    }
+}
@@ -15,6 +15,9 @@ public class GatewayConfig {
     private List<ServiceConfig> services;
     private HealthCheckConfig healthCheck = new HealthCheckConfig();
     private PredictionConfig prediction = new PredictionConfig();
+    private ReloadConfig reload = new ReloadConfig();
+    private ClusterConfig cluster = new ClusterConfig();
+    private LoadSheddingConfig loadShedding = new LoadSheddingConfig();
 
     @Data
     public static class ServiceConfig {
@@ -26,7 +29,15 @@ public class GatewayConfig {
         private Map<String, String> metaData;
         private int priority = 1;
         private boolean enablePrediction = true;
-
+        private LoadBalancingMode loadBalancingMode = LoadBalancingMode.WEIGHTED_RANDOM;
+        private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+        private CacheConfig cache = new CacheConfig();
+        private HedgingConfig hedging = new HedgingConfig();
+        private RetryConfig retry = new RetryConfig();
+        private ConnectionPoolConfig connectionPool = new ConnectionPoolConfig();
+        private HashKeyConfig hashKey = new HashKeyConfig();
+        private ConcurrencyLimitConfig concurrencyLimit = new ConcurrencyLimitConfig();
+        private RateLimitConfig rateLimit = new RateLimitConfig();
     }
 
     @Data
@@ -44,6 +55,159 @@ public class GatewayConfig {
         private int timeoutSeconds = 5;
         private int retryCount = 3;
         private String healthEndpoint = "/health";
+        private boolean collectTelemetry = true;
+        private String metricsEndpoint = "/actuator/metrics";
+        private int minIntervalSeconds = 5;
+        private int maxIntervalSeconds = 120;
+        private int stableChecksBeforeBackoff = 10;
+        private int jitterPercent = 20;
+        private int maxConcurrentProbes = 64;
+        private OutlierDetectionConfig outlierDetection = new OutlierDetectionConfig();
+        private ConnectionPoolConfig connectionPool = new ConnectionPoolConfig();
+    }
+
+    @Data
+    public static class OutlierDetectionConfig {
+        private boolean enabled = true;
+        private int windowSize = 50;
+        private int minimumRequests = 20;
+        private double failureRateThreshold = 0.5;
+        private int consecutiveFailures = 5;
+        private long slowCallThresholdMillis = 5000;
+        private long baseEjectionMillis = 1000;
+        private long maxEjectionMillis = 60000;
+        private int maxEjectionPercent = 50;
+    }
+
+    @Data
+    public static class CircuitBreakerConfig {
+        private boolean enabled = true;
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private long slowCallDurationThresholdMillis = 5000;
+        private long waitDurationInOpenStateMillis = 10000;
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+
+    @Data
+    public static class CacheConfig {
+        private boolean enabled = true;
+        private long maxSizeBytes = 64L * 1024 * 1024;
+        private int maxEntryBytes = 1024 * 1024;
+        private long ttlSeconds = 0;
+        private long staleWhileRevalidateSeconds = 0;
+        private long staleIfErrorSeconds = 300;
+        private List<String> keyHeaders = List.of("Accept");
+        private boolean offHeap = false;
+    }
+
+    @Data
+    public static class HedgingConfig {
+        private boolean enabled = false;
+        private List<String> idempotentMethods = List.of();
+        private double delayPercentile = 0.95;
+        private long initialDelayMillis = 100;
+        private long minDelayMillis = 5;
+        private int minSamples = 100;
+        private int budgetPercent = 10;
+        private int maxBurst = 10;
+    }
+
+    @Data
+    public static class RetryConfig {
+        private int maxAttempts = 3;
+        private long baseBackoffMillis = 100;
+        private long maxBackoffMillis = 2000;
+        private int budgetPercent = 20;
+        private int maxBurst = 10;
+        private List<Integer> retryableStatuses = List.of(502, 503, 504);
+        private int maxReplayBodyBytes = 64 * 1024;
+    }
+
+    /**
+     * Request key of a consistent-hash route: a header or cookie called {@code name},
+     * or the zero-based path segment {@code segment}. An instance of weight 100 gets
+     * {@code virtualNodes} points on the ring, and other weights get proportionally
+     * more or fewer.
+     */
+    @Data
+    public static class HashKeyConfig {
+        private HashKeySource source = HashKeySource.HEADER;
+        private String name = "X-User-Id";
+        private int segment = 0;
+        private int virtualNodes = 160;
+    }
+
+    /**
+     * Adaptive in-flight limit of a route. The limit starts at {@code initialLimit},
+     * stays within [{@code minLimit}, {@code maxLimit}], and grows while the recent
+     * RTT is within {@code rttTolerance} times the average over the last
+     * {@code longWindow} samples. {@code smoothing} is the fraction of each new
+     * estimate that is applied.
+     */
+    @Data
+    public static class ConcurrencyLimitConfig {
+        private boolean enabled = false;
+        private int initialLimit = 100;
+        private int minLimit = 10;
+        private int maxLimit = 1000;
+        private double rttTolerance = 2.0;
+        private int longWindow = 600;
+        private double smoothing = 0.2;
+    }
+
+    /**
+     * Per-client GCRA rate limit of a route: {@code requestsPerSecond} on average with
+     * bursts of up to {@code burst}. With {@code keySource} HEADER clients are told
+     * apart by {@code header}, such as an API key; otherwise, and for requests
+     * without the header, by client address. The first X-Forwarded-For hop is used as
+     * the address only when {@code trustForwardedFor} is set. Keys whose bucket has
+     * refilled are swept every {@code sweepIntervalMillis}.
+     */
+    @Data
+    public static class RateLimitConfig {
+        private boolean enabled = false;
+        private RateLimitKeySource keySource = RateLimitKeySource.CLIENT_IP;
+        private String header = "X-API-Key";
+        private boolean trustForwardedFor = false;
+        private double requestsPerSecond = 50;
+        private int burst = 100;
+        private long sweepIntervalMillis = 10000;
+    }
+
+    /**
+     * Priority-based shedding across routes. Routes of priority {@code p} are admitted
+     * while the gateway is below {@code 1 - (p - 1) * priorityStep} of its aggregate
+     * limit, but never below {@code minUtilization}. Rejected requests get
+     * {@code rejectStatus}, either 503 or 429.
+     */
+    @Data
+    public static class LoadSheddingConfig {
+        private boolean enabled = false;
+        private double priorityStep = 0.1;
+        private double minUtilization = 0.5;
+        private int rejectStatus = 503;
+        private int retryAfterSeconds = 1;
+    }
+
+    /**
+     * Reactor Netty pool of one upstream. A pending-acquire count of -1 means an
+     * unbounded queue; idle time, lifetime, background eviction and response timeout
+     * are disabled when set to 0.
+     */
+    @Data
+    public static class ConnectionPoolConfig {
+        private int maxConnections = 500;
+        private int pendingAcquireMaxCount = 1000;
+        private long pendingAcquireTimeoutMillis = 45000;
+        private long maxIdleTimeMillis = 30000;
+        private long maxLifeTimeMillis = 300000;
+        private long evictInBackgroundMillis = 30000;
+        private int connectTimeoutMillis = 5000;
+        private long responseTimeoutMillis = 30000;
+        private boolean metricsEnabled = true;
     }
 
     @Data
@@ -52,6 +216,52 @@ public class GatewayConfig {
         private int windowSizeMinutes = 10;
         private double failureThreshold = 0.7;
         private int predictionIntervalSeconds = 60;
+        private long trainingIntervalMillis = 1000;
+        private int trainingBatchSize = 256;
+        private String snapshotFile;
+        private long snapshotIntervalMillis = 60000;
+        private TrafficShiftConfig trafficShift = new TrafficShiftConfig();
+    }
+
+    /**
+     * Moves traffic off instances at predicted risk. Their weight is cut by the risk
+     * score but kept at {@code minWeightPercent} or more, and it comes back by at
+     * most {@code recoveryStepPercent} of the configured weight per prediction. The
+     * last {@code auditSize} shifts are kept for audit.
+     */
+    @Data
+    public static class TrafficShiftConfig {
+        private boolean enabled = true;
+        private int minWeightPercent = 10;
+        private int recoveryStepPercent = 20;
+        private int auditSize = 500;
+    }
+
+    @Data
+    public static class ReloadConfig {
+        private String file;
+        private long pollIntervalMillis = 2000;
+    }
+
+    /**
+     * Gateway replicas that share health state. Each replica probes only its shard of
+     * the instances; a peer that stays silent for {@code failureTimeoutMillis} is
+     * dropped from the shard ring until it is heard from again.
+     */
+    @Data
+    public static class ClusterConfig {
+        private boolean enabled = false;
+        private String nodeId;
+        private List<PeerConfig> peers = List.of();
+        private long gossipIntervalMillis = 200;
+        private long failureTimeoutMillis = 3000;
+        private int maxDeltasPerMessage = 512;
+    }
+
+    @Data
+    public static class PeerConfig {
+        private String id;
+        private String url;
     }
 
     public enum FallbackStrategy {
@@ -62,4 +272,21 @@ public class GatewayConfig {
         DEFAULT_RESPONSE,
         HYBRID
     }
-}
\ No newline at end of file
+
+    public enum LoadBalancingMode {
+        WEIGHTED_RANDOM,
+        LEAST_LOADED,
+        CONSISTENT_HASH
+    }
+
+    public enum RateLimitKeySource {
+        CLIENT_IP,
+        HEADER
+    }
+
+    public enum HashKeySource {
+        HEADER,
+        COOKIE,
+        PATH_SEGMENT
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.gateway.controller;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.gateway.cluster.ClusterHealthGossip;
+import com.example.gateway.cluster.GossipMessage;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/gateway/cluster")
+@RequiredArgsConstructor
+public class ClusterGossipController {
+    private final ClusterHealthGossip clusterHealthGossip;
+
+    @PostMapping("/gossip")
+    public Mono<Void> receiveGossip(@RequestBody GossipMessage message) {
+        return Mono.fromRunnable(() -> clusterHealthGossip.receive(message));
+    }
+
+    @GetMapping
+    public Mono<Map<String, Object>> getCluster() {
+        return Mono.just(clusterHealthGossip.describe());
+    }
+}
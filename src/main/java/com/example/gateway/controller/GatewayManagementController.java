@@ -2,20 +2,29 @@ package com.example.gateway.controller;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.gateway.config.GatewayConfig;
 import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.routing.LoadBalancer;
+import com.example.gateway.routing.ServiceConfigReloader;
+import com.example.gateway.routing.TrafficShifter;
+import com.example.gateway.scheduler.ServiceConfigWatcher;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequestMapping("/gateway/management")
@@ -23,6 +32,11 @@ import reactor.core.publisher.Mono;
 public class GatewayManagementController {
     private final GatewayConfig gatewayConfig;
     private final HealthMonitor healthMonitor;
+    private final LoadBalancer loadBalancer;
+    private final CircuitBreakerManager circuitBreakerManager;
+    private final ServiceConfigReloader serviceConfigReloader;
+    private final ServiceConfigWatcher serviceConfigWatcher;
+    private final TrafficShifter trafficShifter;
 
     @GetMapping("/health")
     public Mono<Map<String, Object>> getOverallHealth() {
@@ -61,6 +75,7 @@ public class GatewayManagementController {
             .findFirst()
             .ifPresent(service -> {
                 service.getInstances().forEach(instance -> instance.setActive(active));
+                loadBalancer.refresh(service);
                 response.put("status", "updated");
                 response.put("serviceId", serviceId);
                 response.put("active", active);
@@ -73,6 +88,30 @@ public class GatewayManagementController {
         return Mono.just(response);
     }
 
+    @GetMapping("/circuit-breakers")
+    public Mono<Map<String, Object>> getCircuitBreakers() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("circuitBreakers", circuitBreakerManager.describe());
+        response.put("timestamp", LocalDateTime.now());
+        return Mono.just(response);
+    }
+
+    @GetMapping("/traffic-shifts")
+    public Mono<Map<String, Object>> getTrafficShifts() {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, Object> weights = new HashMap<>();
+        gatewayConfig.getServices().forEach(service -> {
+            Map<String, Double> factors = loadBalancer.getWeightFactors(service.getId());
+            if (!factors.isEmpty()) {
+                weights.put(service.getId(), factors);
+            }
+        });
+        response.put("weightFactors", weights);
+        response.put("shifts", trafficShifter.getAuditLog());
+        response.put("timestamp", LocalDateTime.now());
+        return Mono.just(response);
+    }
+
     @GetMapping("/routes")
     public Mono<Map<String, Object>> getRoutes() {
         Map<String, Object> response = new HashMap<>();
@@ -83,6 +122,7 @@ public class GatewayManagementController {
             routeInfo.put("path", service.getPath());
             routeInfo.put("fallbackStrategy", service.getFallbackStrategy());
             routeInfo.put("priority", service.getPriority());
+            routeInfo.put("loadBalancingMode", service.getLoadBalancingMode());
             routeInfo.put("instances", service.getInstances().size());
             routeInfo.put("activeInstances", service.getInstances().stream().mapToInt(i -> i.isActive() ? 1 : 0).sum());
             routes.put(service.getId(), routeInfo);
@@ -91,4 +131,29 @@ public class GatewayManagementController {
         response.put("timestamp", java.time.LocalDateTime.now());
         return Mono.just(response);
     }
-}
\ No newline at end of file
+
+    @PutMapping("/services")
+    public Mono<Map<String, Object>> replaceServices(@RequestBody List<GatewayConfig.ServiceConfig> services) {
+        return Mono.fromCallable(() -> serviceConfigReloader.apply(services))
+            .map(this::describeReload)
+            .onErrorResume(error -> Mono.just(Map.of("error", String.valueOf(error.getMessage()))));
+    }
+
+    @PostMapping("/services/reload")
+    public Mono<Map<String, Object>> reloadServices() {
+        return Mono.fromCallable(serviceConfigWatcher::reload)
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(this::describeReload)
+            .onErrorResume(error -> Mono.just(Map.of("error", String.valueOf(error.getMessage()))));
+    }
+
+    private Map<String, Object> describeReload(ServiceConfigReloader.ReloadResult result) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("added", result.added());
+        response.put("updated", result.updated());
+        response.put("removed", result.removed());
+        response.put("unchanged", result.unchanged());
+        response.put("timestamp", LocalDateTime.now());
+        return response;
+    }
+}
@@ -1,53 +1,238 @@
 package com.example.gateway.health;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.example.gateway.config.ConnectionPools;
+import com.example.gateway.config.GatewayConfig;
+
+import jakarta.annotation.PreDestroy;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+/**
+ * Active and passive health of every instance. Probe results and outlier ejections
+ * update one immutable {@link HealthSnapshot} per service, and every flip between
+ * routable and unroutable is published as a {@link HealthTransitionEvent}. Probes
+ * run on their own connection pool, so they never queue behind proxied traffic.
+ */
 @Component
 @Slf4j
 public class HealthMonitor {
+    private final ConnectionPools.PooledWebClient probeClient;
     private final WebClient webClient;
+    private final GatewayConfig gatewayConfig;
     private final ConcurrentHashMap<String, ServiceHealth> serviceHealthMap;
+    private final ConcurrentHashMap<String, AtomicReference<HealthSnapshot>> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<String>> instanceServices = new ConcurrentHashMap<>();
+    private final List<Consumer<HealthTransitionEvent>> transitionListeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<String, Boolean>> probeStateListeners = new CopyOnWriteArrayList<>();
+    private final OutlierDetector outlierDetector;
 
-    public HealthMonitor(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    public HealthMonitor(WebClient.Builder webClientBuilder, GatewayConfig gatewayConfig) {
+        this.probeClient = ConnectionPools.create("health-probes", gatewayConfig.getHealthCheck().getConnectionPool(), webClientBuilder);
+        this.webClient = probeClient.webClient();
+        this.gatewayConfig = gatewayConfig;
         this.serviceHealthMap = new ConcurrentHashMap<>();
+        this.outlierDetector = new OutlierDetector(gatewayConfig.getHealthCheck().getOutlierDetection(), instanceId -> publish(instanceId, HealthTransitionEvent.Cause.OUTLIER_DETECTION));
     }
 
+    /**
+     * Probes a single instance. A probe that does not answer within the configured
+     * timeout counts as a failure, and the instance turns unhealthy after
+     * {@code retryCount} consecutive failures.
+     */
     public Mono<ServiceHealth> checkHealth(String serviceID, String url, String endPoint) {
+        GatewayConfig.HealthCheckConfig config = gatewayConfig.getHealthCheck();
         return webClient.get()
         .uri(url + endPoint)
         .retrieve()
         .toBodilessEntity()
+        .timeout(Duration.ofSeconds(config.getTimeoutSeconds()))
         .map(response -> {
             ServiceHealth health = getOrCreateHealth(serviceID);
-            health.recordSuccess();
+            boolean changed = health.recordSuccess();
+            publish(serviceID, HealthTransitionEvent.Cause.PROBE);
+            if (changed) {
+                probeStateListeners.forEach(listener -> listener.accept(serviceID, true));
+            }
             log.debug("Health check successful for service: {}", serviceID);
             return health;
         })
         .onErrorResume(error -> {
             ServiceHealth health = getOrCreateHealth(serviceID);
-            health.recordFailure();
+            boolean changed = health.recordFailure();
+            publish(serviceID, HealthTransitionEvent.Cause.PROBE);
+            if (changed) {
+                probeStateListeners.forEach(listener -> listener.accept(serviceID, health.isHealthy()));
+            }
             log.debug("Health check failed for service: {}", serviceID);
             return Mono.just(health);
         });
     }
 
+    /** Client on the probe connection pool, for other per-instance probe traffic such as telemetry scrapes. */
+    public WebClient getProbeClient() {
+        return webClient;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeClient.dispose();
+    }
+
+    public void addHealthTransitionListener(Consumer<HealthTransitionEvent> listener) {
+        transitionListeners.add(listener);
+    }
+
+    public void addHealthChangeListener(Consumer<String> listener) {
+        transitionListeners.add(event -> listener.accept(event.instanceId()));
+    }
+
+    /**
+     * Notified with the probed health of an instance after its first local probe and
+     * whenever a local probe flips it, independently of outlier ejections.
+     */
+    public void addProbeStateListener(BiConsumer<String, Boolean> listener) {
+        probeStateListeners.add(listener);
+    }
+
+    /**
+     * Adopts the probed health of an instance as reported by another gateway replica.
+     */
+    public void applyPeerHealth(String instanceId, boolean healthy) {
+        getOrCreateHealth(instanceId).applyPeerState(healthy);
+        publish(instanceId, HealthTransitionEvent.Cause.GOSSIP);
+    }
+
+    public void recordRequestOutcome(GatewayConfig.ServiceConfig service, String instanceId, boolean success, long latencyMillis) {
+        outlierDetector.recordOutcome(service, instanceId, success, latencyMillis);
+    }
+
+    public boolean isEjected(String serviceID) {
+        return outlierDetector.isEjected(serviceID);
+    }
+
+    /** Failure rate of the instance's recent proxied requests, 0 when none were recorded. */
+    public double getRecentFailureRate(String instanceId) {
+        return outlierDetector.getFailureRate(instanceId);
+    }
+
+    /**
+     * Current health snapshot of a gateway service, or {@link HealthSnapshot#EMPTY}
+     * before any of its instances has been probed.
+     */
+    public HealthSnapshot snapshot(String serviceId) {
+        AtomicReference<HealthSnapshot> reference = snapshots.get(serviceId);
+        return reference != null ? reference.get() : HealthSnapshot.EMPTY;
+    }
+
+    /**
+     * Recomputes the routable health of an instance and, if it differs from what the
+     * snapshots hold, swaps in a copy of each owning service's snapshot and publishes
+     * the transition. Writers of one service are serialized so that the last writer
+     * always sees the latest probe and ejection state.
+     */
+    private void publish(String instanceId, HealthTransitionEvent.Cause cause) {
+        for (String serviceId : servicesOf(instanceId)) {
+            AtomicReference<HealthSnapshot> reference = snapshots.computeIfAbsent(serviceId, k -> new AtomicReference<>(HealthSnapshot.EMPTY));
+            HealthSnapshot next;
+            boolean healthy;
+            synchronized (reference) {
+                ServiceHealth health = serviceHealthMap.get(instanceId);
+                healthy = health != null && health.isHealthy() && !outlierDetector.isEjected(instanceId);
+                HealthSnapshot current = reference.get();
+                if (current.isKnown(instanceId) && current.isHealthy(instanceId) == healthy) {
+                    continue;
+                }
+                next = current.with(instanceId, healthy);
+                reference.set(next);
+            }
+
+            log.info("Health of {} changed to {} (service: {}, cause: {}, version: {})", instanceId, healthy ? "healthy" : "unhealthy", serviceId, cause, next.getVersion());
+            HealthTransitionEvent event = new HealthTransitionEvent(serviceId, instanceId, healthy, cause, next.getVersion(), Instant.now());
+            transitionListeners.forEach(listener -> listener.accept(event));
+        }
+    }
+
+    /**
+     * Re-reads service membership after the configured services changed. Probe
+     * history and snapshot entries of instances that are still configured survive;
+     * those of removed instances and services are dropped.
+     */
+    public void reindex() {
+        instanceServices.clear();
+        Map<String, Set<String>> members = new HashMap<>();
+        if (gatewayConfig.getServices() != null) {
+            for (GatewayConfig.ServiceConfig service : gatewayConfig.getServices()) {
+                Set<String> instanceIds = service.getInstances() == null ? Set.of() : service.getInstances().stream()
+                    .map(GatewayConfig.ServiceInstance::getId)
+                    .collect(Collectors.toSet());
+                members.put(service.getId(), instanceIds);
+            }
+        }
+
+        Set<String> configured = members.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+        serviceHealthMap.keySet().retainAll(configured);
+        snapshots.keySet().retainAll(members.keySet());
+        snapshots.forEach((serviceId, reference) -> {
+            synchronized (reference) {
+                reference.set(reference.get().retain(members.get(serviceId)));
+            }
+        });
+    }
+
+    /**
+     * Services an instance belongs to, or the instance id itself if no configured
+     * service owns it. Only ids of configured instances are cached, so lookups of
+     * unknown or removed ids do not grow the index; {@link #reindex()} clears it.
+     */
+    private List<String> servicesOf(String instanceId) {
+        List<String> services = instanceServices.get(instanceId);
+        if (services != null) {
+            return services;
+        }
+        List<String> owners = resolveServices(instanceId);
+        if (owners.isEmpty()) {
+            return List.of(instanceId);
+        }
+        List<String> cached = instanceServices.putIfAbsent(instanceId, owners);
+        return cached != null ? cached : owners;
+    }
+
+    private List<String> resolveServices(String instanceId) {
+        if (gatewayConfig.getServices() == null) {
+            return List.of();
+        }
+        return gatewayConfig.getServices().stream()
+            .filter(service -> service.getInstances() != null && service.getInstances().stream().anyMatch(instance -> instance.getId().equals(instanceId)))
+            .map(GatewayConfig.ServiceConfig::getId)
+            .toList();
+    }
+
     private ServiceHealth getOrCreateHealth(String serviceID) {
-        return serviceHealthMap.computeIfAbsent(serviceID, ServiceHealth::new);
+        ServiceHealth health = serviceHealthMap.get(serviceID);
+        return health != null ? health : serviceHealthMap.computeIfAbsent(serviceID, id -> new ServiceHealth(id, gatewayConfig.getHealthCheck().getRetryCount()));
     }
 
     public boolean isServiceHealthy(String serviceID) {
-        ServiceHealth health = serviceHealthMap.get(serviceID);
-        return health != null && health.isHealthy();
+        return snapshot(servicesOf(serviceID).get(0)).isHealthy(serviceID);
     }
 
     public ServiceHealth getServiceHealth(String serviceID) {
@@ -57,27 +242,50 @@ public class HealthMonitor {
     @Data
     public static class ServiceHealth {
         private final String serviceID;
+        private final int failureThreshold;
         private final AtomicLong successCount = new AtomicLong(0);
         private final AtomicLong failureCount = new AtomicLong(0);
         private final AtomicLong consecutiveFailure = new AtomicLong(0);
         private volatile LocalDateTime lastCheckTime;
         private volatile boolean healthy = true;
+        private volatile boolean probed;
         private volatile double responseTime = 0.0;
 
         public ServiceHealth(String serviceID) {
+            this(serviceID, 3);
+        }
+
+        public ServiceHealth(String serviceID, int failureThreshold) {
             this.serviceID = serviceID;
+            this.failureThreshold = Math.max(failureThreshold, 1);
             this.lastCheckTime = LocalDateTime.now();
         }
-        public void recordSuccess() {
+        /**
+         * Records a passed probe and returns whether this was the first probe or
+         * turned the instance healthy again.
+         */
+        public synchronized boolean recordSuccess() {
+            boolean changed = !probed || !healthy;
+            probed = true;
             successCount.incrementAndGet();
             consecutiveFailure.set(0);
             healthy = true;
             lastCheckTime = LocalDateTime.now();
+            return changed;
         }
-        public void recordFailure() {
+        public synchronized boolean recordFailure() {
+            boolean wasHealthy = healthy;
+            boolean first = !probed;
+            probed = true;
             failureCount.incrementAndGet();
-            consecutiveFailure.incrementAndGet();
-            healthy = consecutiveFailure.get() < 3;
+            healthy = consecutiveFailure.incrementAndGet() < failureThreshold;
+            lastCheckTime = LocalDateTime.now();
+            return first || wasHealthy != healthy;
+        }
+        public synchronized void applyPeerState(boolean peerHealthy) {
+            probed = true;
+            healthy = peerHealthy;
+            consecutiveFailure.set(peerHealthy ? 0 : failureThreshold);
             lastCheckTime = LocalDateTime.now();
         }
         public double getSuccessRate() {
@@ -85,7 +293,7 @@ public class HealthMonitor {
             return total > 0 ? (double) successCount.get() / total : 1.0;
         }
         public boolean isHealthy() {
-            return healthy && consecutiveFailure.get() < 3;
+            return healthy;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.example.gateway.health;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of the routable health of every instance of one service. A
+ * transition copies the map and bumps the version, so readers only ever pay for a
+ * single volatile read of the current snapshot.
+ */
+public final class HealthSnapshot {
+    public static final HealthSnapshot EMPTY = new HealthSnapshot(0, Map.of());
+
+    private final long version;
+    private final Map<String, Boolean> instances;
+
+    private HealthSnapshot(long version, Map<String, Boolean> instances) {
+        this.version = version;
+        this.instances = instances;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, Boolean> getInstances() {
+        return instances;
+    }
+
+    public boolean isHealthy(String instanceId) {
+        return Boolean.TRUE.equals(instances.get(instanceId));
+    }
+
+    public boolean isKnown(String instanceId) {
+        return instances.containsKey(instanceId);
+    }
+
+    HealthSnapshot with(String instanceId, boolean healthy) {
+        Map<String, Boolean> copy = new HashMap<>(instances);
+        copy.put(instanceId, healthy);
+        return new HealthSnapshot(version + 1, Map.copyOf(copy));
+    }
+
+    HealthSnapshot retain(Set<String> instanceIds) {
+        if (instanceIds.containsAll(instances.keySet())) {
+            return this;
+        }
+        Map<String, Boolean> copy = new HashMap<>(instances);
+        copy.keySet().retainAll(instanceIds);
+        return new HealthSnapshot(version + 1, Map.copyOf(copy));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.gateway.health;
+
+import java.time.Instant;
+
+/**
+ * Published whenever an instance flips between routable and unroutable, carrying
+ * the version of the service snapshot that recorded the flip.
+ */
+public record HealthTransitionEvent(String serviceId, String instanceId, boolean healthy, Cause cause, long version, Instant timestamp) {
+    public enum Cause {
+        PROBE,
+        OUTLIER_DETECTION,
+        GOSSIP
+    }
+}
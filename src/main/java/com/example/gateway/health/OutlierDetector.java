@@ -0,0 +1,180 @@
+package com.example.gateway.health;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+import com.example.gateway.config.GatewayConfig;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Passive health detection. Outcomes of proxied requests feed a per-instance
+ * count-based sliding window; an instance that trips the consecutive-failure or
+ * failure-rate threshold is ejected for an exponentially growing period, as long
+ * as the service stays under its maximum ejection percentage.
+ */
+@Slf4j
+public class OutlierDetector {
+    private final GatewayConfig.OutlierDetectionConfig config;
+    private final Consumer<String> ejectionListener;
+    private final Scheduler scheduler;
+    private final ConcurrentHashMap<String, InstanceOutcomes> outcomesMap = new ConcurrentHashMap<>();
+
+    public OutlierDetector(GatewayConfig.OutlierDetectionConfig config, Consumer<String> ejectionListener) {
+        this(config, ejectionListener, Schedulers.parallel());
+    }
+
+    OutlierDetector(GatewayConfig.OutlierDetectionConfig config, Consumer<String> ejectionListener, Scheduler scheduler) {
+        this.config = config;
+        this.ejectionListener = ejectionListener;
+        this.scheduler = scheduler;
+    }
+
+    public void recordOutcome(GatewayConfig.ServiceConfig service, String instanceId, boolean success, long latencyMillis) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        boolean failure = !success || latencyMillis > config.getSlowCallThresholdMillis();
+        InstanceOutcomes outcomes = getOrCreate(instanceId);
+        outcomes.record(failure);
+
+        if (failure && !outcomes.isEjected() && outcomes.shouldEject(config)) {
+            tryEject(service, instanceId, outcomes);
+        }
+    }
+
+    public boolean isEjected(String instanceId) {
+        InstanceOutcomes outcomes = outcomesMap.get(instanceId);
+        return outcomes != null && outcomes.isEjected();
+    }
+
+    /** Share of failures in the instance's current outcome window, 0 when it is empty. */
+    public double getFailureRate(String instanceId) {
+        InstanceOutcomes outcomes = outcomesMap.get(instanceId);
+        return outcomes != null ? outcomes.failureRate() : 0.0;
+    }
+
+    public int getEjectionCount(String instanceId) {
+        InstanceOutcomes outcomes = outcomesMap.get(instanceId);
+        return outcomes != null ? outcomes.ejectionCount : 0;
+    }
+
+    private void tryEject(GatewayConfig.ServiceConfig service, String instanceId, InstanceOutcomes outcomes) {
+        long ejectionMillis;
+        long deadline;
+        synchronized (this) {
+            if (outcomes.isEjected() || !belowMaxEjectionPercent(service)) {
+                return;
+            }
+            int multiplier = Math.min(outcomes.ejectionCount, 20);
+            ejectionMillis = Math.min(config.getBaseEjectionMillis() << multiplier, config.getMaxEjectionMillis());
+            outcomes.ejectionCount++;
+            deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+            outcomes.ejectedUntilNanos = deadline;
+            outcomes.ejected = true;
+            outcomes.reset();
+        }
+
+        log.warn("Ejecting outlier instance: {} of service: {} for {} ms (ejection #{})", instanceId, service.getId(), ejectionMillis, outcomes.ejectionCount);
+        ejectionListener.accept(instanceId);
+        scheduler.schedule(() -> {
+            synchronized (this) {
+                // A late timer must not clear an ejection that started after this one ended.
+                if (outcomes.ejectedUntilNanos != deadline) {
+                    return;
+                }
+                outcomes.ejected = false;
+            }
+            log.info("Returning instance: {} of service: {} to rotation", instanceId, service.getId());
+            ejectionListener.accept(instanceId);
+        }, ejectionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean belowMaxEjectionPercent(GatewayConfig.ServiceConfig service) {
+        List<GatewayConfig.ServiceInstance> instances = service.getInstances();
+        if (instances == null || instances.isEmpty()) {
+            return false;
+        }
+        int ejected = 0;
+        for (GatewayConfig.ServiceInstance instance : instances) {
+            if (isEjected(instance.getId())) {
+                ejected++;
+            }
+        }
+        return (ejected + 1) * 100 <= instances.size() * config.getMaxEjectionPercent();
+    }
+
+    private InstanceOutcomes getOrCreate(String instanceId) {
+        InstanceOutcomes outcomes = outcomesMap.get(instanceId);
+        return outcomes != null ? outcomes : outcomesMap.computeIfAbsent(instanceId, k -> new InstanceOutcomes(config.getWindowSize()));
+    }
+
+    private static final class InstanceOutcomes {
+        private final AtomicIntegerArray window;
+        private final AtomicInteger cursor = new AtomicInteger(0);
+        private final AtomicInteger recorded = new AtomicInteger(0);
+        private final AtomicInteger failures = new AtomicInteger(0);
+        private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+        private volatile boolean ejected;
+        private volatile long ejectedUntilNanos;
+        private volatile int ejectionCount;
+
+        private InstanceOutcomes(int windowSize) {
+            this.window = new AtomicIntegerArray(Math.max(windowSize, 1));
+        }
+
+        private void record(boolean failure) {
+            int value = failure ? 1 : 0;
+            int slot = Math.floorMod(cursor.getAndIncrement(), window.length());
+            int previous = window.getAndSet(slot, value);
+            if (value != previous) {
+                failures.addAndGet(value - previous);
+            }
+            if (recorded.get() < window.length()) {
+                recorded.incrementAndGet();
+            }
+
+            if (failure) {
+                consecutiveFailures.incrementAndGet();
+            } else {
+                consecutiveFailures.set(0);
+                if (ejectionCount > 0 && !ejected && recorded.get() >= window.length() && failures.get() == 0) {
+                    ejectionCount = 0;
+                }
+            }
+        }
+
+        private boolean shouldEject(GatewayConfig.OutlierDetectionConfig config) {
+            if (consecutiveFailures.get() >= config.getConsecutiveFailures()) {
+                return true;
+            }
+            int requests = recorded.get();
+            return requests >= config.getMinimumRequests() && failures.get() >= requests * config.getFailureRateThreshold();
+        }
+
+        private double failureRate() {
+            int requests = recorded.get();
+            return requests > 0 ? Math.min((double) failures.get() / requests, 1.0) : 0.0;
+        }
+
+        private boolean isEjected() {
+            return ejected && System.nanoTime() - ejectedUntilNanos < 0;
+        }
+
+        private void reset() {
+            for (int i = 0; i < window.length(); i++) {
+                window.set(i, 0);
+            }
+            failures.set(0);
+            recorded.set(0);
+            consecutiveFailures.set(0);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.gateway.metrics;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer meters for the proxy hot path. Every meter of a route or instance is
+ * registered once, up front for the configured services, and afterwards reached
+ * through a single map lookup, so recording a request costs a few atomic updates
+ * and never a registry lookup or tag allocation.
+ */
+@Component
+public class GatewayMetrics {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry registry;
+    private final InstanceTelemetryCollector telemetryCollector;
+    private final ConcurrentHashMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> instanceTimers = new ConcurrentHashMap<>();
+
+    public GatewayMetrics(MeterRegistry registry, GatewayConfig config, InstanceTelemetryCollector telemetryCollector) {
+        this.registry = registry;
+        this.telemetryCollector = telemetryCollector;
+        if (config.getServices() == null) {
+            return;
+        }
+        for (GatewayConfig.ServiceConfig service : config.getServices()) {
+            route(service);
+            if (service.getInstances() != null) {
+                service.getInstances().forEach(instance -> instanceTimer(service.getId(), instance.getId()));
+            }
+        }
+    }
+
+    public RouteMeters route(GatewayConfig.ServiceConfig service) {
+        RouteMeters meters = routes.get(service.getId());
+        return meters != null ? meters : routes.computeIfAbsent(service.getId(), RouteMeters::new);
+    }
+
+    public void recordInstanceLatency(GatewayConfig.ServiceConfig service, GatewayConfig.ServiceInstance instance, long nanos) {
+        Timer timer = instanceTimers.get(instance.getId());
+        if (timer == null) {
+            timer = instanceTimer(service.getId(), instance.getId());
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer instanceTimer(String serviceId, String instanceId) {
+        return instanceTimers.computeIfAbsent(instanceId, id -> {
+            Gauge.builder("gateway.instance.inflight", telemetryCollector.getLoad(id), load -> load.getInFlight())
+                .description("Requests in flight to an upstream instance")
+                .tags("route", serviceId, "instance", id)
+                .strongReference(true)
+                .register(registry);
+            return latencyTimer("gateway.instance.latency", "Upstream latency per instance")
+                .tags("route", serviceId, "instance", id)
+                .register(registry);
+        });
+    }
+
+    private static Timer.Builder latencyTimer(String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED);
+    }
+
+    public final class RouteMeters {
+        private final Timer success;
+        private final Timer failure;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter retries;
+        private final Counter hedges;
+        private final Counter limited;
+        private final Counter shed;
+        private final Counter rateLimited;
+        private final EnumMap<GatewayConfig.FallbackStrategy, Counter> failovers = new EnumMap<>(GatewayConfig.FallbackStrategy.class);
+        private final EnumMap<GatewayConfig.FallbackStrategy, Counter> fallbacks = new EnumMap<>(GatewayConfig.FallbackStrategy.class);
+
+        private RouteMeters(String serviceId) {
+            this.success = latencyTimer("gateway.route.requests", "End-to-end latency of proxied requests per route")
+                .tags("route", serviceId, "outcome", "success")
+                .register(registry);
+            this.failure = latencyTimer("gateway.route.requests", "End-to-end latency of proxied requests per route")
+                .tags("route", serviceId, "outcome", "failure")
+                .register(registry);
+            Gauge.builder("gateway.route.inflight", inFlight, AtomicInteger::get)
+                .description("Requests in flight through a route")
+                .tag("route", serviceId)
+                .strongReference(true)
+                .register(registry);
+            this.retries = Counter.builder("gateway.route.retries").description("Retry attempts sent to upstream instances").tag("route", serviceId).register(registry);
+            this.hedges = Counter.builder("gateway.route.hedges").description("Hedged requests sent to a second instance").tag("route", serviceId).register(registry);
+            this.limited = Counter.builder("gateway.route.rejected").description("Requests rejected before reaching an upstream").tags("route", serviceId, "reason", "limit").register(registry);
+            this.shed = Counter.builder("gateway.route.rejected").description("Requests rejected before reaching an upstream").tags("route", serviceId, "reason", "priority").register(registry);
+            this.rateLimited = Counter.builder("gateway.route.rejected").description("Requests rejected before reaching an upstream").tags("route", serviceId, "reason", "rate-limit").register(registry);
+            for (GatewayConfig.FallbackStrategy strategy : GatewayConfig.FallbackStrategy.values()) {
+                failovers.put(strategy, Counter.builder("gateway.route.failovers")
+                    .description("Requests redirected to another instance after a failure")
+                    .tags("route", serviceId, "strategy", strategy.name())
+                    .register(registry));
+                fallbacks.put(strategy, Counter.builder("gateway.route.fallbacks")
+                    .description("Requests answered by the route's fallback strategy")
+                    .tags("route", serviceId, "strategy", strategy.name())
+                    .register(registry));
+            }
+        }
+
+        public void requestStarted() {
+            inFlight.incrementAndGet();
+        }
+
+        public void requestFinished() {
+            inFlight.decrementAndGet();
+        }
+
+        public void record(long nanos, boolean succeeded) {
+            (succeeded ? success : failure).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void failover(GatewayConfig.FallbackStrategy strategy) {
+            if (strategy != null) {
+                failovers.get(strategy).increment();
+            }
+        }
+
+        public void fallback(GatewayConfig.FallbackStrategy strategy) {
+            if (strategy != null) {
+                fallbacks.get(strategy).increment();
+            }
+        }
+
+        public void retry() {
+            retries.increment();
+        }
+
+        public void hedge() {
+            hedges.increment();
+        }
+
+        public void rejected(boolean shedByPriority) {
+            (shedByPriority ? shed : limited).increment();
+        }
+
+        public void rateLimited() {
+            rateLimited.increment();
+        }
+    }
+}
@@ -1,85 +1,281 @@
 package com.example.gateway.prediction;
 
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class FailurePredictionEngine {
-    private final @Qualifier("metricsMap") ConcurrentHashMap<String, ServiceMetrics> metricsMap;
-    private final @Qualifier("modelMap") ConcurrentHashMap<String, PredictionModel> modelMap;
+    private final ConcurrentHashMap<String, ServiceMetrics> metricsMap;
+    private final ConcurrentHashMap<String, PredictionModel> modelMap;
+    private final PredictionSnapshotStore snapshotStore;
+
+    public FailurePredictionEngine(ConcurrentHashMap<String, ServiceMetrics> metricsMap, ConcurrentHashMap<String, PredictionModel> modelMap) {
+        this(metricsMap, modelMap, new PredictionSnapshotStore((Path) null));
+    }
+
+    @Autowired
+    public FailurePredictionEngine(@Qualifier("metricsMap") ConcurrentHashMap<String, ServiceMetrics> metricsMap, @Qualifier("modelMap") ConcurrentHashMap<String, PredictionModel> modelMap, PredictionSnapshotStore snapshotStore) {
+        this.metricsMap = metricsMap;
+        this.modelMap = modelMap;
+        this.snapshotStore = snapshotStore;
+    }
 
     public void recordMetric(String serviceId, double responseTime, boolean success, double cpuUsage, double memoryUsage, int activeConnections) {
-        ServiceMetrics metrics = metricsMap.computeIfAbsent(serviceId, k -> new ServiceMetrics(k));
-        MetricPoint point = new MetricPoint(LocalDateTime.now(), responseTime, success, cpuUsage, memoryUsage, activeConnections);
-        metrics.addMetricPoint(point);
-        updatePredictionModel(serviceId, metrics);
+        ServiceMetrics metrics = metricsMap.get(serviceId);
+        if (metrics == null) {
+            metrics = metricsMap.computeIfAbsent(serviceId, this::createMetrics);
+        }
+        metrics.record(System.nanoTime(), responseTime, success, cpuUsage, memoryUsage, activeConnections);
     }
 
-    private void updatePredictionModel(String serviceId, ServiceMetrics metrics) {
-        PredictionModel model = modelMap.computeIfAbsent(serviceId, k -> new PredictionModel(k));
-        model.train(metrics);
+    /**
+     * New metric ring for a service, warmed from the snapshot of a previous run when
+     * one exists. The restored model is registered together with the ring.
+     */
+    private ServiceMetrics createMetrics(String serviceId) {
+        ServiceMetrics metrics = new ServiceMetrics(serviceId);
+        if (snapshotStore.isEnabled()) {
+            PredictionModel model = snapshotStore.restore(serviceId, metrics);
+            if (model != null) {
+                modelMap.putIfAbsent(serviceId, model);
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Writes the current rings and models to the snapshot file, if one is configured.
+     */
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!snapshotStore.isEnabled()) {
+            return;
+        }
+        try {
+            snapshotStore.save(metricsMap, modelMap);
+        } catch (IOException | RuntimeException e) {
+            log.error("Saving prediction snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Single-writer training stage. Each service's metric ring doubles as its bounded
+     * sample queue: a model consumes only the samples published since its previous
+     * batch, at most {@code maxBatchSize} of them, and skips whatever it fell behind on.
+     */
+    public synchronized void trainModels(int maxBatchSize) {
+        metricsMap.forEach((serviceId, metrics) -> {
+            PredictionModel model = modelMap.computeIfAbsent(serviceId, k -> new PredictionModel(k));
+            model.trainBatch(metrics, maxBatchSize);
+        });
     }
 
     public PredictionResult predictFailure(String serviceId, int minutesAhead) {
         PredictionModel model = modelMap.get(serviceId);
+        if (model == null && snapshotStore.isEnabled() && snapshotStore.contains(serviceId)) {
+            metricsMap.computeIfAbsent(serviceId, this::createMetrics);
+            model = modelMap.get(serviceId);
+        }
         if (model == null) {
             return new PredictionResult(serviceId, 0.0, "No prediction model available", false);
         }
         return model.predict(minutesAhead);
     }
 
-    @Data
+    /**
+     * Fixed-capacity ring of metric samples stored column-wise in primitive arrays.
+     * Writers claim a slot with a single atomic increment and publish it through a
+     * per-slot sequence stamp, so recording never locks or allocates. Readers walk
+     * the ring with a reusable {@link WindowCursor} and skip slots that are being
+     * overwritten while they read them.
+     */
     public static class ServiceMetrics {
+        public static final int CAPACITY = 1024;
+        private static final int MASK = CAPACITY - 1;
+        private static final long WRITING = -1L;
+
         private final String serviceId;
-        private final Queue<MetricPoint> metricPoints;
-        private static final int MAX_POINTS = 1000;
+        private final AtomicLong writeSequence = new AtomicLong(0);
+        private final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+        private final long[] timestamps = new long[CAPACITY];
+        private final float[] responseTimes = new float[CAPACITY];
+        private final float[] cpuUsages = new float[CAPACITY];
+        private final float[] memoryUsages = new float[CAPACITY];
+        private final int[] activeConnections = new int[CAPACITY];
+        private final boolean[] successes = new boolean[CAPACITY];
 
         public ServiceMetrics(String serviceId) {
             this.serviceId = serviceId;
-            this.metricPoints = new LinkedList<>();
         }
 
-        public synchronized void addMetricPoint(MetricPoint point) {
-            metricPoints.offer(point);
-            while (metricPoints.size() > MAX_POINTS) {
-                metricPoints.poll();
-            }
+        public void record(long timestampNanos, double responseTime, boolean success, double cpuUsage, double memoryUsage, int connections) {
+            long sequence = writeSequence.getAndIncrement();
+            int slot = (int) (sequence & MASK);
+
+            published.set(slot, WRITING);
+            VarHandle.storeStoreFence();
+            timestamps[slot] = timestampNanos;
+            responseTimes[slot] = (float) responseTime;
+            cpuUsages[slot] = (float) cpuUsage;
+            memoryUsages[slot] = (float) memoryUsage;
+            activeConnections[slot] = connections;
+            successes[slot] = success;
+            published.setRelease(slot, sequence + 1);
+        }
+
+        public WindowCursor openWindow(WindowCursor cursor, long windowNanos) {
+            return openRange(cursor, 0, writeSequence.get(), windowNanos);
+        }
+
+        public WindowCursor openRange(WindowCursor cursor, long fromSequence, long endSequence, long windowNanos) {
+            cursor.reset(this, Math.max(fromSequence, endSequence - CAPACITY), endSequence, System.nanoTime() - windowNanos);
+            return cursor;
+        }
+
+        public long getWriteSequence() {
+            return writeSequence.get();
+        }
+
+        public int size() {
+            return (int) Math.min(writeSequence.get(), CAPACITY);
         }
 
-        public List<MetricPoint> getRecentPoints(int minutes) {
-            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(minutes);
-            return metricPoints.stream().filter(point -> point.getTimeStamp().isAfter(cutoff)).toList();
+        public String getServiceId() {
+            return serviceId;
         }
     }
 
-    @Data
-    public static class MetricPoint {
-        private final LocalDateTime timeStamp;
-        private final double responseTime;
-        private final boolean success;
-        private final double cpuUsage;
-        private final double memoryUsage;
-        private final int activeConnections;
+    /**
+     * Reusable, allocation-free iterator over the samples of a {@link ServiceMetrics}
+     * ring that fall inside a time window. A cursor is not thread-safe; each reader
+     * keeps its own and re-opens it for every pass.
+     */
+    public static final class WindowCursor {
+        private ServiceMetrics metrics;
+        private long nextSequence;
+        private long endSequence;
+        private long cutoffNanos;
+
+        private long timestamp;
+        private float responseTime;
+        private float cpuUsage;
+        private float memoryUsage;
+        private int activeConnections;
+        private boolean success;
+
+        void reset(ServiceMetrics metrics, long fromSequence, long endSequence, long cutoffNanos) {
+            this.metrics = metrics;
+            this.nextSequence = fromSequence;
+            this.endSequence = endSequence;
+            this.cutoffNanos = cutoffNanos;
+        }
+
+        public boolean next() {
+            while (nextSequence < endSequence) {
+                long sequence = nextSequence++;
+                int slot = (int) (sequence & ServiceMetrics.MASK);
+
+                long stamp = metrics.published.getAcquire(slot);
+                if (stamp != sequence + 1) {
+                    continue;
+                }
+
+                long readTimestamp = metrics.timestamps[slot];
+                float readResponseTime = metrics.responseTimes[slot];
+                float readCpuUsage = metrics.cpuUsages[slot];
+                float readMemoryUsage = metrics.memoryUsages[slot];
+                int readConnections = metrics.activeConnections[slot];
+                boolean readSuccess = metrics.successes[slot];
+
+                VarHandle.loadLoadFence();
+                if (metrics.published.get(slot) != stamp || readTimestamp - cutoffNanos < 0) {
+                    continue;
+                }
+
+                timestamp = readTimestamp;
+                responseTime = readResponseTime;
+                cpuUsage = readCpuUsage;
+                memoryUsage = readMemoryUsage;
+                activeConnections = readConnections;
+                success = readSuccess;
+                return true;
+            }
+            return false;
+        }
+
+        public int count() {
+            int count = 0;
+            while (next()) {
+                count++;
+            }
+            return count;
+        }
+
+        public long timestamp() {
+            return timestamp;
+        }
+
+        public float responseTime() {
+            return responseTime;
+        }
+
+        public float cpuUsage() {
+            return cpuUsage;
+        }
+
+        public float memoryUsage() {
+            return memoryUsage;
+        }
+
+        public int activeConnections() {
+            return activeConnections;
+        }
+
+        public boolean success() {
+            return success;
+        }
     }
 
+    /**
+     * Online logistic model of request failure plus the {@link StreamingFeatures} of
+     * its service. Both are only written by the training stage; predictions read the
+     * published weights and feature snapshot and never touch the sample ring.
+     */
     @Data
     public static class PredictionModel {
+        private static final long TRAINING_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(10);
+        private static final int MIN_TRAINING_SAMPLES = 10;
+        private static final double ACTION_THRESHOLD = 0.7;
+        private static final double LATENCY_ANOMALY_SIGMAS = 2.0;
+        private static final double LATENCY_CRITICAL_SIGMAS = 6.0;
+        private static final double SATURATION_THRESHOLD = 0.8;
+
         private  final String serviceId;
-        private double[] weights;
-        private double bias;
-        private int trainingCount;
+        private volatile double[] weights;
+        private volatile double bias;
+        private volatile int trainingCount;
+        private volatile long trainedSequence;
+        private volatile long droppedSamples;
+        @Getter(AccessLevel.NONE)
+        private final WindowCursor cursor = new WindowCursor();
+        private final StreamingFeatures features = new StreamingFeatures();
 
         public PredictionModel(String serviceId) {
             this.serviceId = serviceId;
@@ -88,43 +284,61 @@ public class FailurePredictionEngine {
             this.trainingCount = 0;
         }
 
-        public void train(ServiceMetrics metrics) {
-            List<MetricPoint> recentPoints = metrics.getRecentPoints(10);
-
-            if (recentPoints.size() < 10) {
+        /**
+         * Trains on the samples recorded since the previous batch. Only the training
+         * stage may call this; weights are updated on a copy and then published, so
+         * concurrent predictions always see a consistent set.
+         */
+        public void trainBatch(ServiceMetrics metrics, int maxBatchSize) {
+            long endSequence = metrics.getWriteSequence();
+            if (endSequence < MIN_TRAINING_SAMPLES || endSequence <= trainedSequence) {
                 return;
             }
 
+            long fromSequence = Math.max(trainedSequence, endSequence - Math.min(maxBatchSize, ServiceMetrics.CAPACITY));
+            if (fromSequence > trainedSequence) {
+                droppedSamples += fromSequence - trainedSequence;
+                log.debug("Training for service: {} fell behind, dropped {} samples", serviceId, fromSequence - trainedSequence);
+            }
+
             double learningRate = 0.01;
-            for (MetricPoint point : recentPoints) {
-                double[] features = extractFeatures(point);
-                double prediction = predict(features);
-                double actual = point.isSuccess() ? 0.0 : 1.0;
+            double[] nextWeights = weights.clone();
+            double nextBias = bias;
+            double[] features = new double[nextWeights.length];
+
+            metrics.openRange(cursor, fromSequence, endSequence, TRAINING_WINDOW_NANOS);
+            while (cursor.next()) {
+                this.features.update(cursor.timestamp(), cursor.responseTime(), cursor.success(), cursor.cpuUsage(), cursor.memoryUsage(), cursor.activeConnections());
+                extractFeatures(cursor, features);
+                double prediction = predict(nextWeights, nextBias, features);
+                double actual = cursor.success() ? 0.0 : 1.0;
                 double error = actual - prediction;
 
-                for (int i = 0; i < weights.length && i < features.length; i++) {
-                    weights[i] += learningRate * error * features[i];
+                for (int i = 0; i < nextWeights.length && i < features.length; i++) {
+                    nextWeights[i] += learningRate * error * features[i];
                 }
-                bias += learningRate * error;
+                nextBias += learningRate * error;
             }
 
+            weights = nextWeights;
+            bias = nextBias;
+            this.features.publish();
+            trainedSequence = endSequence;
             trainingCount++;
             if (trainingCount % 100 == 0) {
                 log.info("Updated prediction model for service: {} (training count: {})", serviceId, trainingCount);
             }
         }
 
-        private double[] extractFeatures(MetricPoint point) {
-            return new double[]{
-                point.getResponseTime() / 1000.0,
-                point.getCpuUsage(),
-                point.getMemoryUsage(),
-                point.getActiveConnections() / 100.0,
-                point.isSuccess() ? 0.0 : 1.0
-            };
+        private void extractFeatures(WindowCursor cursor, double[] features) {
+            features[0] = cursor.responseTime() / 1000.0;
+            features[1] = cursor.cpuUsage();
+            features[2] = cursor.memoryUsage();
+            features[3] = cursor.activeConnections() / 100.0;
+            features[4] = cursor.success() ? 0.0 : 1.0;
         }
 
-        private double predict(double[] features) {
+        private static double predict(double[] weights, double bias, double[] features) {
             double sum = bias;
             for (int i = 0; i < weights.length && i < features.length; i++) {
                 sum += weights[i] * features[i];
@@ -132,10 +346,50 @@ public class FailurePredictionEngine {
             return 1.0 / (1.0 + Math.exp(-sum));
         }
 
+        /**
+         * Extrapolates the feature trends {@code minutesAhead} minutes and scores the
+         * projected state. The risk is the highest of four signals: projected error
+         * rate, latency drift against the baseline (in standard deviations), CPU or
+         * memory saturation, and the learned failure probability for the projected
+         * features. The reason names whichever signal dominates.
+         */
         public PredictionResult predict(int minutesAhead) {
-            double riskScore = Math.max(0.0, Math.min(1.0, weights[0] * 0.5 + weights[1] * 0.3 + bias));
-            String reason = riskScore > 0.7 ? "High failure probability based on recent metrics" : "Service appears stable";
-            return new PredictionResult(reason, riskScore, reason, riskScore > 0.7);
+            StreamingFeatures.Snapshot snapshot = features.snapshot();
+            if (snapshot.sampleCount() < MIN_TRAINING_SAMPLES) {
+                return new PredictionResult(serviceId, 0.0, "Not enough samples for a prediction", false);
+            }
+
+            double minutes = Math.max(minutesAhead, 0);
+            double latency = snapshot.projectedLatency(minutes);
+            double errorRate = snapshot.projectedErrorRate(minutes);
+            double cpuUsage = snapshot.projectedCpuUsage(minutes);
+            double memoryUsage = snapshot.projectedMemoryUsage(minutes);
+
+            double sigmas = snapshot.latencyStdDev() > 0 ? (latency - snapshot.latencyBaseline()) / snapshot.latencyStdDev() : 0.0;
+            double latencyRisk = clamp((sigmas - LATENCY_ANOMALY_SIGMAS) / (LATENCY_CRITICAL_SIGMAS - LATENCY_ANOMALY_SIGMAS));
+            double saturation = Math.max(cpuUsage, memoryUsage);
+            double saturationRisk = clamp((saturation - SATURATION_THRESHOLD) / (1.0 - SATURATION_THRESHOLD));
+            double modelRisk = predict(weights, bias, new double[]{latency / 1000.0, cpuUsage, memoryUsage, snapshot.activeConnections() / 100.0, errorRate});
+
+            double riskScore = Math.max(Math.max(errorRate, latencyRisk), Math.max(saturationRisk, modelRisk));
+            boolean actionRequired = riskScore > ACTION_THRESHOLD;
+            String reason;
+            if (!actionRequired) {
+                reason = "Service appears stable";
+            } else if (riskScore == errorRate) {
+                reason = String.format("Error rate projected to reach %.0f%% in %d min", errorRate * 100, minutesAhead);
+            } else if (riskScore == latencyRisk) {
+                reason = String.format("Latency projected at %.0f ms in %d min (%.1f sigma above baseline)", latency, minutesAhead, sigmas);
+            } else if (riskScore == saturationRisk) {
+                reason = String.format("%s usage projected at %.0f%% in %d min", cpuUsage >= memoryUsage ? "CPU" : "Memory", saturation * 100, minutesAhead);
+            } else {
+                reason = String.format("Failure model predicts %.0f%% failure probability in %d min", modelRisk * 100, minutesAhead);
+            }
+            return new PredictionResult(serviceId, riskScore, reason, actionRequired);
+        }
+
+        private static double clamp(double value) {
+            return Math.max(0.0, Math.min(1.0, value));
         }
     }
 
@@ -0,0 +1,242 @@
+package com.example.gateway.prediction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persists metric rings and model weights to a memory-mapped file, so that a
+ * restarted gateway keeps its trained models. Startup only maps the file and indexes
+ * its entries. Each service is decoded the first time the engine touches it. Entries
+ * that have not been restored yet are carried over unchanged on the next save.
+ *
+ * <p>Format, version 1, big-endian: magic, version, save time (epoch millis) and
+ * entry count, followed by length-prefixed entries. Each entry holds the service id,
+ * the model's weights, bias and training count, and then its samples. A sample is
+ * stored as age at save time, response time, CPU, memory, connections and success.
+ */
+@Component
+@Slf4j
+public class PredictionSnapshotStore {
+    static final int MAGIC = 0x47575053;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+    private static final int SAMPLE_BYTES = 8 + 4 + 4 + 4 + 4 + 1;
+    private static final long SAMPLE_HORIZON_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final Path file;
+    private boolean loaded;
+    private MappedByteBuffer mapped;
+    private long savedAtMillis;
+    private final Map<String, Integer> pending = new HashMap<>();
+
+    @Autowired
+    public PredictionSnapshotStore(GatewayConfig gatewayConfig) {
+        this(resolve(gatewayConfig.getPrediction().getSnapshotFile()));
+    }
+
+    public PredictionSnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public synchronized boolean contains(String serviceId) {
+        ensureLoaded();
+        return pending.containsKey(serviceId);
+    }
+
+    /**
+     * Replays the snapshot of a service into a fresh metric ring and returns its
+     * model, or {@code null} if the snapshot holds nothing for the service. Sample
+     * timestamps are shifted by the time the gateway was down, so the training window
+     * ages them as if it had never stopped. Every entry is restored at most once.
+     */
+    public synchronized FailurePredictionEngine.PredictionModel restore(String serviceId, FailurePredictionEngine.ServiceMetrics metrics) {
+        ensureLoaded();
+        Integer offset = pending.remove(serviceId);
+        if (offset == null) {
+            return null;
+        }
+
+        ByteBuffer entry = mapped.duplicate().position(offset);
+        entry.getInt();
+        readId(entry);
+        double[] weights = new double[entry.getInt()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = entry.getDouble();
+        }
+        double bias = entry.getDouble();
+        int trainingCount = entry.getInt();
+
+        FailurePredictionEngine.PredictionModel model = new FailurePredictionEngine.PredictionModel(serviceId);
+        long downtimeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(System.currentTimeMillis() - savedAtMillis, 0));
+        long now = System.nanoTime();
+        int samples = entry.getInt();
+        for (int i = 0; i < samples; i++) {
+            long timestamp = now - downtimeNanos - entry.getLong();
+            float responseTime = entry.getFloat();
+            float cpuUsage = entry.getFloat();
+            float memoryUsage = entry.getFloat();
+            int connections = entry.getInt();
+            boolean success = entry.get() != 0;
+            metrics.record(timestamp, responseTime, success, cpuUsage, memoryUsage, connections);
+            model.getFeatures().update(timestamp, responseTime, success, cpuUsage, memoryUsage, connections);
+        }
+        model.getFeatures().publish();
+        if (weights.length > 0) {
+            model.setWeights(weights);
+        }
+        model.setBias(bias);
+        model.setTrainingCount(trainingCount);
+        model.setTrainedSequence(metrics.getWriteSequence());
+        log.debug("Restored prediction state for service: {} ({} samples, training count: {})", serviceId, samples, trainingCount);
+        return model;
+    }
+
+    /**
+     * Writes every ring and model to a temporary mapped file and atomically moves it
+     * over the previous snapshot.
+     */
+    public synchronized void save(Map<String, FailurePredictionEngine.ServiceMetrics> metricsMap, Map<String, FailurePredictionEngine.PredictionModel> modelMap) throws IOException {
+        if (file == null) {
+            return;
+        }
+        ensureLoaded();
+
+        long now = System.nanoTime();
+        FailurePredictionEngine.WindowCursor cursor = new FailurePredictionEngine.WindowCursor();
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        metricsMap.forEach((serviceId, metrics) -> entries.put(serviceId, encode(serviceId, metrics, modelMap.get(serviceId), cursor, now)));
+        pending.forEach((serviceId, offset) -> entries.putIfAbsent(serviceId, rawEntry(offset)));
+
+        long size = HEADER_BYTES;
+        for (byte[] entry : entries.values()) {
+            size += entry.length;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis()).putInt(entries.size());
+            entries.values().forEach(buffer::put);
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Saved prediction snapshot of {} services to {} ({} bytes)", entries.size(), file, size);
+    }
+
+    private static byte[] encode(String serviceId, FailurePredictionEngine.ServiceMetrics metrics, FailurePredictionEngine.PredictionModel model, FailurePredictionEngine.WindowCursor cursor, long now) {
+        int samples = metrics.openWindow(cursor, SAMPLE_HORIZON_NANOS).count();
+        double[] weights = model != null ? model.getWeights() : new double[0];
+        byte[] id = serviceId.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer entry = ByteBuffer.allocate(4 + 2 + id.length + 4 + weights.length * 8 + 8 + 4 + 4 + samples * SAMPLE_BYTES);
+        entry.putInt(0).putShort((short) id.length).put(id).putInt(weights.length);
+        for (double weight : weights) {
+            entry.putDouble(weight);
+        }
+        entry.putDouble(model != null ? model.getBias() : 0.0).putInt(model != null ? model.getTrainingCount() : 0);
+
+        int countPosition = entry.position();
+        entry.putInt(0);
+        int written = 0;
+        metrics.openWindow(cursor, SAMPLE_HORIZON_NANOS);
+        while (written < samples && cursor.next()) {
+            entry.putLong(Math.max(now - cursor.timestamp(), 0))
+                .putFloat(cursor.responseTime())
+                .putFloat(cursor.cpuUsage())
+                .putFloat(cursor.memoryUsage())
+                .putInt(cursor.activeConnections())
+                .put((byte) (cursor.success() ? 1 : 0));
+            written++;
+        }
+        entry.putInt(countPosition, written);
+        entry.putInt(0, entry.position() - 4);
+        return Arrays.copyOf(entry.array(), entry.position());
+    }
+
+    private byte[] rawEntry(int offset) {
+        ByteBuffer entry = mapped.duplicate().position(offset);
+        byte[] raw = new byte[4 + entry.getInt(offset)];
+        entry.get(raw);
+        return raw;
+    }
+
+    /**
+     * Maps the snapshot and indexes its entries without decoding them. A missing,
+     * truncated or foreign file is ignored, and the gateway simply starts cold.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                log.warn("Ignoring prediction snapshot {}: not a snapshot file", file);
+                return;
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                log.warn("Ignoring prediction snapshot {}: unsupported version {}", file, version);
+                return;
+            }
+            savedAtMillis = buffer.getLong();
+            int count = buffer.getInt();
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                int offset = buffer.position();
+                int length = buffer.getInt();
+                if (length < 2 || length > buffer.remaining()) {
+                    log.warn("Ignoring prediction snapshot {}: truncated at entry {}", file, i);
+                    return;
+                }
+                index.put(readId(buffer), offset);
+                buffer.position(offset + 4 + length);
+            }
+            mapped = buffer;
+            pending.putAll(index);
+            log.info("Mapped prediction snapshot {} with {} services", file, count);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring prediction snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String readId(ByteBuffer buffer) {
+        byte[] id = new byte[buffer.getShort()];
+        buffer.get(id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    private static Path resolve(String file) {
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.gateway.prediction;
+
+/**
+ * Running feature statistics of one service, updated in O(1) per sample by the
+ * training stage. Latency is tracked twice: as a short time-decayed average, and as
+ * a Welford mean and variance over every sample, which is the baseline the recent
+ * value is compared against. Errors are tracked as a time-decayed rate. Latency,
+ * error rate, CPU and memory also keep exponentially weighted least-squares trends,
+ * so they can be extrapolated. Readers only see the immutable {@link Snapshot}
+ * published by {@link #publish()}.
+ */
+public final class StreamingFeatures {
+    static final double RECENT_TAU_MINUTES = 1.0;
+    static final double TREND_TAU_MINUTES = 10.0;
+    private static final double NANOS_PER_MINUTE = 60_000_000_000.0;
+
+    private boolean started;
+    private long lastNanos;
+    private long count;
+    private double latencyMean;
+    private double latencyM2;
+    private final Decayed recentLatency = new Decayed();
+    private final Decayed recentErrors = new Decayed();
+    private final Decayed recentConnections = new Decayed();
+    private final Trend latencyTrend = new Trend();
+    private final Trend errorTrend = new Trend();
+    private final Trend cpuTrend = new Trend();
+    private final Trend memoryTrend = new Trend();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Folds one sample into the statistics. Samples that arrive slightly out of
+     * order are treated as if they happened at the latest time seen so far.
+     */
+    public void update(long timestampNanos, double responseTime, boolean success, double cpuUsage, double memoryUsage, int activeConnections) {
+        double elapsedMinutes = 0.0;
+        if (!started) {
+            started = true;
+            lastNanos = timestampNanos;
+        } else if (timestampNanos - lastNanos > 0) {
+            elapsedMinutes = (timestampNanos - lastNanos) / NANOS_PER_MINUTE;
+            lastNanos = timestampNanos;
+        }
+
+        count++;
+        double delta = responseTime - latencyMean;
+        latencyMean += delta / count;
+        latencyM2 += delta * (responseTime - latencyMean);
+
+        double recentDecay = Math.exp(-elapsedMinutes / RECENT_TAU_MINUTES);
+        double error = success ? 0.0 : 1.0;
+        recentLatency.add(recentDecay, responseTime);
+        recentErrors.add(recentDecay, error);
+        recentConnections.add(recentDecay, activeConnections);
+
+        double trendDecay = Math.exp(-elapsedMinutes / TREND_TAU_MINUTES);
+        latencyTrend.add(elapsedMinutes, trendDecay, responseTime);
+        errorTrend.add(elapsedMinutes, trendDecay, error);
+        cpuTrend.add(elapsedMinutes, trendDecay, cpuUsage);
+        memoryTrend.add(elapsedMinutes, trendDecay, memoryUsage);
+    }
+
+    /**
+     * Makes the current statistics visible to readers. The training stage calls
+     * this once per batch, not once per sample.
+     */
+    public void publish() {
+        if (count == 0) {
+            return;
+        }
+        double variance = count > 1 ? latencyM2 / (count - 1) : 0.0;
+        snapshot = new Snapshot(count, recentLatency.mean(), latencyMean, Math.sqrt(variance), latencyTrend.slope(),
+            recentErrors.mean(), errorTrend.slope(), cpuTrend.intercept(), cpuTrend.slope(),
+            memoryTrend.intercept(), memoryTrend.slope(), recentConnections.mean());
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Point-in-time features. Slopes are per minute; latencies are in the unit they
+     * were recorded in.
+     */
+    public record Snapshot(long sampleCount, double latency, double latencyBaseline, double latencyStdDev, double latencySlope,
+                           double errorRate, double errorRateSlope, double cpuUsage, double cpuSlope,
+                           double memoryUsage, double memorySlope, double activeConnections) {
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+        public double projectedLatency(double minutesAhead) {
+            return Math.max(latency + latencySlope * minutesAhead, 0.0);
+        }
+
+        public double projectedErrorRate(double minutesAhead) {
+            return clamp(errorRate + errorRateSlope * minutesAhead);
+        }
+
+        public double projectedCpuUsage(double minutesAhead) {
+            return clamp(cpuUsage + cpuSlope * minutesAhead);
+        }
+
+        public double projectedMemoryUsage(double minutesAhead) {
+            return clamp(memoryUsage + memorySlope * minutesAhead);
+        }
+
+        private static double clamp(double value) {
+            return Math.max(0.0, Math.min(1.0, value));
+        }
+    }
+
+    /** Time-decayed average where every sample carries a weight of one. */
+    private static final class Decayed {
+        private double weight;
+        private double sum;
+
+        void add(double decay, double value) {
+            weight = weight * decay + 1.0;
+            sum = sum * decay + value;
+        }
+
+        double mean() {
+            return weight > 0 ? sum / weight : 0.0;
+        }
+    }
+
+    /**
+     * Exponentially weighted least-squares line over (time, value). Time is measured
+     * relative to the latest sample, and the sums are shifted whenever time moves on.
+     * This keeps them small, and makes the intercept the trend's current value.
+     */
+    private static final class Trend {
+        private double weight;
+        private double sumT;
+        private double sumY;
+        private double sumTT;
+        private double sumTY;
+
+        void add(double elapsedMinutes, double decay, double value) {
+            if (elapsedMinutes > 0) {
+                sumTT -= 2 * elapsedMinutes * sumT - weight * elapsedMinutes * elapsedMinutes;
+                sumTY -= elapsedMinutes * sumY;
+                sumT -= weight * elapsedMinutes;
+            }
+            weight = weight * decay + 1.0;
+            sumT *= decay;
+            sumY = sumY * decay + value;
+            sumTT *= decay;
+            sumTY *= decay;
+        }
+
+        double slope() {
+            double denominator = weight * sumTT - sumT * sumT;
+            return denominator > 1e-12 ? (weight * sumTY - sumT * sumY) / denominator : 0.0;
+        }
+
+        double intercept() {
+            return weight > 0 ? (sumY - slope() * sumT) / weight : 0.0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.gateway.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns one resilience4j circuit breaker per service and one per instance. Service
+ * breakers guard the whole route and let it fail fast; instance breakers take a
+ * misbehaving instance out of the routing snapshot until its half-open trial calls
+ * succeed again.
+ */
+@Component
+@Slf4j
+public class CircuitBreakerManager {
+    private static final String SERVICE_PREFIX = "service:";
+    private static final String INSTANCE_PREFIX = "instance:";
+
+    private final CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+    private final ConcurrentHashMap<String, CircuitBreaker> serviceBreakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CircuitBreaker> instanceBreakers = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> instanceStateListeners = new CopyOnWriteArrayList<>();
+
+    public CircuitBreaker serviceBreaker(GatewayConfig.ServiceConfig service) {
+        if (!service.getCircuitBreaker().isEnabled()) {
+            return null;
+        }
+        CircuitBreaker breaker = serviceBreakers.get(service.getId());
+        return breaker != null ? breaker : serviceBreakers.computeIfAbsent(service.getId(), id -> create(SERVICE_PREFIX + id, service.getCircuitBreaker(), null));
+    }
+
+    public CircuitBreaker instanceBreaker(GatewayConfig.ServiceConfig service, String instanceId) {
+        if (!service.getCircuitBreaker().isEnabled()) {
+            return null;
+        }
+        CircuitBreaker breaker = instanceBreakers.get(instanceId);
+        return breaker != null ? breaker : instanceBreakers.computeIfAbsent(instanceId, id -> create(INSTANCE_PREFIX + id, service.getCircuitBreaker(), id));
+    }
+
+    /**
+     * Whether an instance may be put into the routing snapshot. Half-open instances
+     * stay routable so that their trial calls can happen.
+     */
+    public boolean isInstanceRoutable(String instanceId) {
+        CircuitBreaker breaker = instanceBreakers.get(instanceId);
+        if (breaker == null) {
+            return true;
+        }
+        CircuitBreaker.State state = breaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /**
+     * Drops the breaker of a service so that it is recreated, with fresh state and
+     * current settings, on its next use.
+     */
+    public void retireService(String serviceId) {
+        retire(serviceBreakers.remove(serviceId));
+    }
+
+    public void retireInstance(String instanceId) {
+        retire(instanceBreakers.remove(instanceId));
+    }
+
+    private void retire(CircuitBreaker breaker) {
+        if (breaker != null) {
+            registry.remove(breaker.getName());
+        }
+    }
+
+    public void addInstanceStateListener(Consumer<String> listener) {
+        instanceStateListeners.add(listener);
+    }
+
+    public static void onResult(CircuitBreaker breaker, long startNanos, HttpStatusCode statusCode) {
+        if (breaker == null) {
+            return;
+        }
+        long duration = System.nanoTime() - startNanos;
+        if (statusCode != null && statusCode.is5xxServerError()) {
+            breaker.onError(duration, TimeUnit.NANOSECONDS, new UpstreamServerErrorException(statusCode));
+        } else {
+            breaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static void onError(CircuitBreaker breaker, long startNanos, Throwable error) {
+        if (breaker != null) {
+            breaker.onError(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, error);
+        }
+    }
+
+    public static void release(CircuitBreaker breaker) {
+        if (breaker != null) {
+            breaker.releasePermission();
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> breakers = new LinkedHashMap<>();
+        serviceBreakers.values().forEach(breaker -> breakers.put(breaker.getName(), describe(breaker)));
+        instanceBreakers.values().forEach(breaker -> breakers.put(breaker.getName(), describe(breaker)));
+        return breakers;
+    }
+
+    private static Map<String, Object> describe(CircuitBreaker breaker) {
+        CircuitBreaker.Metrics metrics = breaker.getMetrics();
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("state", breaker.getState());
+        info.put("failureRate", metrics.getFailureRate());
+        info.put("slowCallRate", metrics.getSlowCallRate());
+        info.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+        info.put("failedCalls", metrics.getNumberOfFailedCalls());
+        info.put("slowCalls", metrics.getNumberOfSlowCalls());
+        info.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+        return info;
+    }
+
+    private CircuitBreaker create(String name, GatewayConfig.CircuitBreakerConfig settings, String instanceId) {
+        io.github.resilience4j.circuitbreaker.CircuitBreakerConfig breakerConfig = io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.custom()
+            .slidingWindowType(io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(settings.getSlidingWindowSize())
+            .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+            .failureRateThreshold(settings.getFailureRateThreshold())
+            .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(Duration.ofMillis(settings.getSlowCallDurationThresholdMillis()))
+            .waitDurationInOpenState(Duration.ofMillis(settings.getWaitDurationInOpenStateMillis()))
+            .permittedNumberOfCallsInHalfOpenState(settings.getPermittedNumberOfCallsInHalfOpenState())
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .build();
+
+        CircuitBreaker breaker = registry.circuitBreaker(name, breakerConfig);
+        breaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Circuit breaker {} transitioned: {}", event.getCircuitBreakerName(), event.getStateTransition());
+            if (instanceId != null) {
+                instanceStateListeners.forEach(listener -> listener.accept(instanceId));
+            }
+        });
+        return breaker;
+    }
+}
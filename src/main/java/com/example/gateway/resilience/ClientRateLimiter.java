@@ -0,0 +1,138 @@
+package com.example.gateway.resilience;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import com.example.gateway.config.GatewayConfig;
+
+/**
+ * Per-client rate limit of one route, using the generic cell rate algorithm. The
+ * whole state of a client is its theoretical arrival time (TAT), held in an
+ * {@link AtomicLong}. A request is admitted by one successful CAS that moves the
+ * TAT on by one emission interval, unless that would put it more than
+ * {@code burst} intervals ahead of now.
+ *
+ * <p>Clients are spread over striped maps, whose reads do not lock. A client whose
+ * TAT lies in the past has a full bucket, exactly like a client never seen before,
+ * so dropping it loses nothing. Each stripe is swept for such clients at most once
+ * per sweep interval, by whichever request touches it first after the interval.
+ */
+public class ClientRateLimiter {
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long sweepIntervalNanos;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public ClientRateLimiter(GatewayConfig.RateLimitConfig config) {
+        this.burst = Math.max(config.getBurst(), 1);
+        this.intervalNanos = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / Math.max(config.getRequestsPerSecond(), 1e-3)), 1);
+        this.toleranceNanos = intervalNanos * burst;
+        this.sweepIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(config.getSweepIntervalMillis(), 1));
+        long now = System.nanoTime();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(now + sweepIntervalNanos);
+        }
+    }
+
+    /**
+     * Admits a request from a client. Returns 0 when it is admitted, or otherwise the
+     * nanoseconds until the client may send again.
+     */
+    public long tryAcquire(String clientKey, long nowNanos) {
+        Stripe stripe = stripe(clientKey);
+        stripe.sweepIfDue(nowNanos, sweepIntervalNanos);
+        AtomicLong tat = stripe.cells.get(clientKey);
+        if (tat == null) {
+            tat = stripe.cells.computeIfAbsent(clientKey, key -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Nanoseconds until the client's bucket is full again. */
+    public long resetNanos(String clientKey, long nowNanos) {
+        AtomicLong tat = stripe(clientKey).cells.get(clientKey);
+        return tat == null ? 0 : Math.max(tat.get() - nowNanos, 0);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.cells.size();
+        }
+        return size;
+    }
+
+    /**
+     * The key a request is limited by: the configured header, or else the client
+     * address.
+     */
+    public static String clientKey(ServerHttpRequest request, GatewayConfig.RateLimitConfig config) {
+        if (config.getKeySource() == GatewayConfig.RateLimitKeySource.HEADER) {
+            String value = request.getHeaders().getFirst(config.getHeader());
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        if (config.isTrustForwardedFor()) {
+            String forwarded = request.getHeaders().getFirst(FORWARDED_FOR);
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    /** Fibonacci hashing; the top bits spread similar keys such as sequential IPs. */
+    private Stripe stripe(String clientKey) {
+        return stripes[(clientKey.hashCode() * 0x9e3779b9) >>> (Integer.SIZE - STRIPE_BITS)];
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> cells = new ConcurrentHashMap<>();
+        private final AtomicLong nextSweepNanos;
+
+        private Stripe(long nextSweepNanos) {
+            this.nextSweepNanos = new AtomicLong(nextSweepNanos);
+        }
+
+        /**
+         * Drops clients with a full bucket. A request racing with the removal may
+         * update a dropped cell, which at worst lets that client send one extra request.
+         */
+        private void sweepIfDue(long nowNanos, long sweepIntervalNanos) {
+            long due = nextSweepNanos.get();
+            if (nowNanos - due < 0 || !nextSweepNanos.compareAndSet(due, nowNanos + sweepIntervalNanos)) {
+                return;
+            }
+            cells.values().removeIf(tat -> tat.get() - nowNanos <= 0);
+        }
+    }
+}
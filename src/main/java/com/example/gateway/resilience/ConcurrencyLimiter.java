@@ -0,0 +1,127 @@
+package com.example.gateway.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import com.example.gateway.config.GatewayConfig;
+
+/**
+ * Adaptive in-flight limit of one route, after the gradient algorithm. A fast
+ * average of upstream RTT is compared with a slow one. While the fast one stays
+ * within {@code rttTolerance} of the slow one, the limit grows by about its square
+ * root. Once queueing shows up as rising RTT, it shrinks by the ratio of the two.
+ * Timeouts and overload statuses cut it multiplicatively. The limit only grows
+ * while at least half of it is in use, so an idle route does not drift upwards.
+ *
+ * <p>Admission is a CAS on the in-flight count; only samples take the lock.
+ */
+public class ConcurrencyLimiter {
+    private static final int SHORT_WINDOW = 10;
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_DRIFT = 0.95;
+
+    private final GatewayConfig.ConcurrencyLimitConfig config;
+    private final IntConsumer limitListener;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+    private boolean retired;
+
+    public ConcurrencyLimiter(GatewayConfig.ConcurrencyLimitConfig config) {
+        this(config, delta -> { });
+    }
+
+    /**
+     * @param limitListener receives every change of the limit as a delta, starting
+     *                      with the initial limit
+     */
+    public ConcurrencyLimiter(GatewayConfig.ConcurrencyLimitConfig config, IntConsumer limitListener) {
+        this.config = config;
+        this.limitListener = limitListener;
+        this.estimatedLimit = clamp(config.getInitialLimit());
+        this.limit = (int) estimatedLimit;
+        limitListener.accept(limit);
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public synchronized void onSample(long rttNanos) {
+        double rtt = Math.max(rttNanos, 1);
+        samples++;
+        shortRtt = samples == 1 ? rtt : shortRtt + (rtt - shortRtt) / SHORT_WINDOW;
+        if (samples <= WARMUP_SAMPLES) {
+            longRtt += (rtt - longRtt) / samples;
+            return;
+        }
+        longRtt += (rtt - longRtt) / Math.max(config.getLongWindow(), SHORT_WINDOW);
+        if (longRtt > 2 * shortRtt) {
+            // Recover quickly once a long overload has passed and latency is back to normal.
+            longRtt *= LONG_RTT_DRIFT;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, config.getRttTolerance() * longRtt / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (target > estimatedLimit && inFlight.get() < estimatedLimit / 2) {
+            return;
+        }
+        double smoothing = Math.max(Math.min(config.getSmoothing(), 1.0), 0.0);
+        update(estimatedLimit * (1 - smoothing) + target * smoothing);
+    }
+
+    public synchronized void onDropped() {
+        update(estimatedLimit * BACKOFF_RATIO);
+    }
+
+    private void update(double next) {
+        if (retired) {
+            return;
+        }
+        estimatedLimit = clamp(next);
+        int rounded = (int) estimatedLimit;
+        if (rounded != limit) {
+            int delta = rounded - limit;
+            limit = rounded;
+            limitListener.accept(delta);
+        }
+    }
+
+    /** Hands the limit back to the listener. Afterwards the limiter only takes releases. */
+    public synchronized void retire() {
+        if (retired) {
+            return;
+        }
+        retired = true;
+        limitListener.accept(-limit);
+    }
+
+    private double clamp(double value) {
+        int min = Math.max(config.getMinLimit(), 1);
+        return Math.max(min, Math.min(value, Math.max(config.getMaxLimit(), min)));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
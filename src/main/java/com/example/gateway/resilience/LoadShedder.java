@@ -0,0 +1,96 @@
+package com.example.gateway.resilience;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.gateway.config.GatewayConfig;
+
+/**
+ * Admission control for proxied requests. Every route has its own adaptive
+ * {@link ConcurrencyLimiter}. In addition, routes are shed by priority as the gateway
+ * as a whole nears the sum of those limits. Priority 1 routes may use all of it, and
+ * each further priority level gives up {@code priorityStep} of it, down to
+ * {@code minUtilization}. The least important routes are therefore turned away
+ * first, before their load crowds out the rest. Routes without a limiter are never
+ * shed and do not count towards the totals.
+ */
+public class LoadShedder {
+    public enum Decision {
+        ADMITTED,
+        ROUTE_LIMITED,
+        SHED
+    }
+
+    private final GatewayConfig gatewayConfig;
+    private final ConcurrentHashMap<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final AtomicInteger totalInFlight = new AtomicInteger();
+    private final AtomicLong totalLimit = new AtomicLong();
+
+    public LoadShedder(GatewayConfig gatewayConfig) {
+        this.gatewayConfig = gatewayConfig;
+    }
+
+    public ConcurrencyLimiter limiter(GatewayConfig.ServiceConfig service) {
+        GatewayConfig.ConcurrencyLimitConfig limitConfig = service.getConcurrencyLimit();
+        if (limitConfig == null || !limitConfig.isEnabled()) {
+            return null;
+        }
+        ConcurrencyLimiter limiter = limiters.get(service.getId());
+        return limiter != null ? limiter : limiters.computeIfAbsent(service.getId(), id -> new ConcurrencyLimiter(limitConfig, totalLimit::addAndGet));
+    }
+
+    /**
+     * Takes a permit from the route's limiter unless the route is shed first. An
+     * admitted request must hand its permit back through {@link #release}.
+     */
+    public Decision tryAcquire(GatewayConfig.ServiceConfig service, ConcurrencyLimiter limiter) {
+        if (limiter == null) {
+            return Decision.ADMITTED;
+        }
+        if (totalInFlight.get() >= admissionThreshold(service.getPriority()) * totalLimit.get()) {
+            return Decision.SHED;
+        }
+        if (!limiter.tryAcquire()) {
+            return Decision.ROUTE_LIMITED;
+        }
+        totalInFlight.incrementAndGet();
+        return Decision.ADMITTED;
+    }
+
+    public void release(ConcurrencyLimiter limiter) {
+        limiter.release();
+        totalInFlight.decrementAndGet();
+    }
+
+    /**
+     * Share of the aggregate limit that routes of a priority may fill. Priority 1 and
+     * disabled shedding return more than 1, so only the route's own limit applies.
+     */
+    double admissionThreshold(int priority) {
+        GatewayConfig.LoadSheddingConfig shedding = gatewayConfig.getLoadShedding();
+        if (shedding == null || !shedding.isEnabled() || priority <= 1) {
+            return Double.MAX_VALUE;
+        }
+        return Math.max(1.0 - (priority - 1) * shedding.getPriorityStep(), shedding.getMinUtilization());
+    }
+
+    /**
+     * Drops the limiter of a route, for example when its settings changed. Requests
+     * still holding a permit release it on the old limiter.
+     */
+    public void remove(String serviceId) {
+        ConcurrencyLimiter limiter = limiters.remove(serviceId);
+        if (limiter != null) {
+            limiter.retire();
+        }
+    }
+
+    public int getTotalInFlight() {
+        return totalInFlight.get();
+    }
+
+    public long getTotalLimit() {
+        return totalLimit.get();
+    }
+}
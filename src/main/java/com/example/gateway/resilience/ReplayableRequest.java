@@ -0,0 +1,58 @@
+package com.example.gateway.resilience;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A request whose body was read into memory so every attempt can send it again.
+ * Only bodies with a declared length within the limit are buffered; anything else
+ * keeps streaming and cannot be retried.
+ */
+public class ReplayableRequest extends ServerHttpRequestDecorator {
+    private final byte[] body;
+    private final DataBufferFactory bufferFactory;
+
+    private ReplayableRequest(ServerHttpRequest delegate, byte[] body, DataBufferFactory bufferFactory) {
+        super(delegate);
+        this.body = body;
+        this.bufferFactory = bufferFactory;
+    }
+
+    @Override
+    public Flux<DataBuffer> getBody() {
+        return Flux.defer(() -> Flux.just(bufferFactory.wrap(body)));
+    }
+
+    public static Mono<ServerWebExchange> buffer(ServerWebExchange exchange, int maxBodyBytes) {
+        ServerHttpRequest request = exchange.getRequest();
+        long contentLength = request.getHeaders().getContentLength();
+        if (contentLength <= 0 || contentLength > maxBodyBytes) {
+            return Mono.just(exchange);
+        }
+
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        return DataBufferUtils.join(request.getBody(), maxBodyBytes)
+            .map(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                return exchange.mutate().request(new ReplayableRequest(request, bytes, bufferFactory)).build();
+            })
+            .defaultIfEmpty(exchange);
+    }
+
+    public static boolean isReplayable(ServerHttpRequest request) {
+        if (request instanceof ReplayableRequest) {
+            return true;
+        }
+        return request.getHeaders().getContentLength() <= 0 && !request.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+}
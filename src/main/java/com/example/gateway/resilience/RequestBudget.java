@@ -0,0 +1,54 @@
+package com.example.gateway.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps extra requests (hedges, retries) at a percentage of the
+ * traffic that earns deposits. Each deposit adds a fraction of a token, each extra
+ * request spends a whole one, and the balance never exceeds the configured burst.
+ */
+public class RequestBudget {
+    private static final long MILLI_TOKENS = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RequestBudget(int budgetPercent, int maxBurst) {
+        this.depositPerRequest = budgetPercent * MILLI_TOKENS / 100;
+        this.maxBalance = maxBurst * MILLI_TOKENS;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void deposit() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerRequest)));
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < MILLI_TOKENS) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - MILLI_TOKENS));
+        return true;
+    }
+
+    public void refund() {
+        long current;
+        do {
+            current = balance.get();
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + MILLI_TOKENS)));
+    }
+
+    public double getAvailableTokens() {
+        return balance.get() / (double) MILLI_TOKENS;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.gateway.resilience;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.example.gateway.config.GatewayConfig;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+/**
+ * Per-service retry rules. Retries are paid for from a budget that only successful
+ * responses refill, so a service that is failing across the board quickly stops
+ * being retried at all; backoff uses full jitter to spread retries out instead of
+ * synchronising them into waves.
+ */
+public class RetryPolicy {
+    private final GatewayConfig.RetryConfig config;
+    private final RequestBudget budget;
+
+    public RetryPolicy(GatewayConfig.RetryConfig config) {
+        this.config = config;
+        this.budget = new RequestBudget(config.getBudgetPercent(), config.getMaxBurst());
+    }
+
+    public int getMaxAttempts() {
+        return config.getMaxAttempts();
+    }
+
+    public RequestBudget getBudget() {
+        return budget;
+    }
+
+    public void onSuccess() {
+        budget.deposit();
+    }
+
+    public boolean isRetryableStatus(int statusCode) {
+        return config.getRetryableStatuses().contains(statusCode);
+    }
+
+    /**
+     * Connection failures, timeouts and the configured gateway statuses are worth
+     * another attempt; anything else reached the upstream and got a real answer.
+     */
+    public boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return isRetryableStatus(responseException.getStatusCode().value());
+        }
+        if (error instanceof WebClientRequestException || error instanceof TimeoutException || error instanceof CallNotPermittedException) {
+            return true;
+        }
+        Throwable cause = error.getCause();
+        return error instanceof IOException || (cause != null && cause != error && isRetryable(cause));
+    }
+
+    /**
+     * Full jitter: a uniform delay between zero and the capped exponential backoff.
+     */
+    public Duration backoff(int attempt) {
+        long ceiling = Math.min(config.getMaxBackoffMillis(), config.getBaseBackoffMillis() << Math.min(attempt, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
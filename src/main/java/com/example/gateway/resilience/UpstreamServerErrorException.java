@@ -0,0 +1,20 @@
+package com.example.gateway.resilience;
+
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Marks a 5xx upstream response as a failed call. Carries no stack trace since it
+ * is created on the request path only to be counted.
+ */
+public class UpstreamServerErrorException extends RuntimeException {
+    private final HttpStatusCode statusCode;
+
+    public UpstreamServerErrorException(HttpStatusCode statusCode) {
+        super("Upstream responded with " + statusCode, null, false, false);
+        this.statusCode = statusCode;
+    }
+
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.gateway.routing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.example.gateway.config.GatewayConfig;
+
+/**
+ * Ring of virtual nodes for consistent-hash routing. The points of an instance are
+ * derived from its id alone, and their number from its own weight, so adding,
+ * removing or reweighting one instance moves only the keys that land on its points.
+ * Lookups are a binary search over a sorted {@code long[]} and do not allocate.
+ */
+public final class ConsistentHashRing {
+    /** Hash reserved for "no key"; real keys never hash to it. */
+    public static final long NO_KEY = 0L;
+    static final ConsistentHashRing EMPTY = new ConsistentHashRing(new long[0], new GatewayConfig.ServiceInstance[0]);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final int REFERENCE_WEIGHT = 100;
+
+    private final long[] points;
+    private final GatewayConfig.ServiceInstance[] owners;
+
+    private ConsistentHashRing(long[] points, GatewayConfig.ServiceInstance[] owners) {
+        this.points = points;
+        this.owners = owners;
+    }
+
+    /**
+     * Places {@code virtualNodes} points per instance of weight 100. Zero-weight
+     * instances get no points, unless every instance has zero weight.
+     */
+    public static ConsistentHashRing build(GatewayConfig.ServiceInstance[] instances, int virtualNodes) {
+        return build(instances, Arrays.stream(instances).mapToInt(GatewayConfig.ServiceInstance::getWeight).toArray(), virtualNodes);
+    }
+
+    /** Like {@link #build(GatewayConfig.ServiceInstance[], int)}, with effective weights in place of the configured ones. */
+    public static ConsistentHashRing build(GatewayConfig.ServiceInstance[] instances, int[] weights, int virtualNodes) {
+        int perReference = Math.max(virtualNodes, 1);
+        boolean weighted = Arrays.stream(weights).anyMatch(weight -> weight > 0);
+        int[] counts = new int[instances.length];
+        int total = 0;
+        for (int i = 0; i < instances.length; i++) {
+            int weight = weights[i];
+            if (!weighted) {
+                counts[i] = perReference;
+            } else if (weight > 0) {
+                counts[i] = (int) Math.max(Math.round((double) perReference * weight / REFERENCE_WEIGHT), 1);
+            }
+            total += counts[i];
+        }
+
+        Point[] ring = new Point[total];
+        int next = 0;
+        for (int i = 0; i < instances.length; i++) {
+            long seed = hash(instances[i].getId());
+            for (int replica = 0; replica < counts[i]; replica++) {
+                ring[next++] = new Point(mix(seed + (replica + 1) * GOLDEN_GAMMA), instances[i]);
+            }
+        }
+        Arrays.sort(ring, Comparator.comparingLong(Point::hash).thenComparing(point -> point.owner().getId()));
+
+        long[] points = new long[total];
+        GatewayConfig.ServiceInstance[] owners = new GatewayConfig.ServiceInstance[total];
+        for (int i = 0; i < total; i++) {
+            points[i] = ring[i].hash();
+            owners[i] = ring[i].owner();
+        }
+        return new ConsistentHashRing(points, owners);
+    }
+
+    /** Owner of the first point at or after the key, wrapping around the ring. */
+    public GatewayConfig.ServiceInstance locate(long keyHash) {
+        return points.length == 0 ? null : owners[position(keyHash)];
+    }
+
+    /**
+     * Walks clockwise from the key, ignoring {@code excludedId}, and returns the
+     * distinct owner after skipping {@code skip} others. With {@code skip} = 0 this
+     * is the instance the key moves to if the excluded one leaves the ring, so
+     * failover keeps each key on one backup rather than scattering it.
+     */
+    public GatewayConfig.ServiceInstance successor(long keyHash, String excludedId, int skip) {
+        if (points.length == 0) {
+            return null;
+        }
+        GatewayConfig.ServiceInstance[] passed = new GatewayConfig.ServiceInstance[Math.max(skip, 0)];
+        int found = 0;
+        int start = position(keyHash);
+        for (int step = 0; step < points.length; step++) {
+            GatewayConfig.ServiceInstance owner = owners[(start + step) % points.length];
+            if (owner.getId().equals(excludedId) || contains(passed, found, owner)) {
+                continue;
+            }
+            if (found == passed.length) {
+                return owner;
+            }
+            passed[found++] = owner;
+        }
+        return null;
+    }
+
+    public int size() {
+        return points.length;
+    }
+
+    private int position(long keyHash) {
+        int index = Arrays.binarySearch(points, keyHash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index == points.length ? 0 : index;
+    }
+
+    private static boolean contains(GatewayConfig.ServiceInstance[] passed, int count, GatewayConfig.ServiceInstance owner) {
+        for (int i = 0; i < count; i++) {
+            if (passed[i] == owner) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static long hash(CharSequence value) {
+        return hash(value, 0, value.length());
+    }
+
+    /** FNV-1a over the UTF-16 units of {@code value[start, end)}, finished with a 64-bit mix. */
+    public static long hash(CharSequence value, int start, int end) {
+        long hash = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        hash = mix(hash);
+        return hash == NO_KEY ? 1L : hash;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private record Point(long hash, GatewayConfig.ServiceInstance owner) {
+    }
+}
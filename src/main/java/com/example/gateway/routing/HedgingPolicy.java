@@ -0,0 +1,66 @@
+package com.example.gateway.routing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.resilience.RequestBudget;
+import com.example.gateway.telemetry.LatencyHistogram;
+
+/**
+ * Per-route hedging state: the route's latency histogram, the hedge delay derived
+ * from it, and the budget that bounds how much duplicate load hedging may add.
+ */
+public class HedgingPolicy {
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final GatewayConfig.HedgingConfig config;
+    private final LatencyHistogram latencies = new LatencyHistogram(30, TimeUnit.SECONDS);
+    private final RequestBudget budget;
+    private volatile long cachedDelayNanos;
+    private volatile long delayComputedAtNanos;
+
+    public HedgingPolicy(GatewayConfig.HedgingConfig config) {
+        this.config = config;
+        this.budget = new RequestBudget(config.getBudgetPercent(), config.getMaxBurst());
+        this.cachedDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getInitialDelayMillis());
+        this.delayComputedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Only idempotent requests without a body are hedged; the duplicate must be safe
+     * to send and must not need the request body a second time.
+     */
+    public boolean isEligible(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING)) {
+            return false;
+        }
+        HttpMethod method = request.getMethod();
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || config.getIdempotentMethods().stream().anyMatch(method.name()::equalsIgnoreCase);
+    }
+
+    public void recordLatency(long latencyNanos) {
+        latencies.record(latencyNanos);
+    }
+
+    public long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - delayComputedAtNanos < DELAY_REFRESH_NANOS) {
+            return cachedDelayNanos;
+        }
+        long delay = latencies.count() < config.getMinSamples()
+            ? TimeUnit.MILLISECONDS.toNanos(config.getInitialDelayMillis())
+            : Math.max(latencies.percentile(config.getDelayPercentile()), TimeUnit.MILLISECONDS.toNanos(config.getMinDelayMillis()));
+        cachedDelayNanos = delay;
+        delayComputedAtNanos = now;
+        return delay;
+    }
+
+    public RequestBudget getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.gateway.routing;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+
+import com.example.gateway.config.GatewayConfig;
+
+/**
+ * Immutable view of the routable instances of one service. Weight tables are
+ * precomputed with Vose's alias method so a weighted pick costs two random
+ * numbers and two array reads, independent of the instance count. Services that
+ * route by consistent hashing also carry a {@link ConsistentHashRing} of the same
+ * instances.
+ */
+public final class InstanceSnapshot {
+    private final long version;
+    private final GatewayConfig.ServiceInstance[] instances;
+    private final int[] weights;
+    private final double[] probability;
+    private final int[] alias;
+    private final ConsistentHashRing ring;
+
+    private InstanceSnapshot(long version, GatewayConfig.ServiceInstance[] instances, int[] weights, double[] probability, int[] alias, ConsistentHashRing ring) {
+        this.version = version;
+        this.instances = instances;
+        this.weights = weights;
+        this.probability = probability;
+        this.alias = alias;
+        this.ring = ring;
+    }
+
+    public static InstanceSnapshot of(long version, List<GatewayConfig.ServiceInstance> routable) {
+        return of(version, routable, 0);
+    }
+
+    /**
+     * Builds the snapshot, plus a hash ring with {@code virtualNodes} points per
+     * instance of weight 100 when {@code virtualNodes} is positive.
+     */
+    public static InstanceSnapshot of(long version, List<GatewayConfig.ServiceInstance> routable, int virtualNodes) {
+        return of(version, routable, virtualNodes, GatewayConfig.ServiceInstance::getWeight);
+    }
+
+    /**
+     * Builds the snapshot with effective weights, such as weights lowered for
+     * instances at predicted risk, instead of the configured ones.
+     */
+    public static InstanceSnapshot of(long version, List<GatewayConfig.ServiceInstance> routable, int virtualNodes, ToIntFunction<GatewayConfig.ServiceInstance> weightOf) {
+        GatewayConfig.ServiceInstance[] instances = routable.toArray(new GatewayConfig.ServiceInstance[0]);
+        int size = instances.length;
+        int[] weights = new int[size];
+        double[] probability = new double[size];
+        int[] alias = new int[size];
+
+        long totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = Math.max(weightOf.applyAsInt(instances[i]), 0);
+            totalWeight += weights[i];
+        }
+
+        double[] scaled = new double[size];
+        for (int i = 0; i < size; i++) {
+            scaled[i] = totalWeight > 0 ? (double) weights[i] * size / totalWeight : 1.0;
+        }
+
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+
+        ConsistentHashRing ring = virtualNodes > 0 ? ConsistentHashRing.build(instances, weights, virtualNodes) : ConsistentHashRing.EMPTY;
+        return new InstanceSnapshot(version, instances, weights, probability, alias, ring);
+    }
+
+    public GatewayConfig.ServiceInstance pick() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(instances.length);
+        return random.nextDouble() < probability[column] ? instances[column] : instances[alias[column]];
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    public GatewayConfig.ServiceInstance get(int index) {
+        return instances[index];
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    public int size() {
+        return instances.length;
+    }
+
+    public boolean isEmpty() {
+        return instances.length == 0;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.gateway.routing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class LoadBalancer {
+    private final GatewayConfig config;
+    private final HealthMonitor healthMonitor;
+    private final CircuitBreakerManager circuitBreakerManager;
+    private final InstanceTelemetryCollector telemetryCollector;
+    private final ConcurrentHashMap<String, AtomicReference<InstanceSnapshot>> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Map<String, Double>> weightFactors = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong(0);
+
+    public LoadBalancer(GatewayConfig config, HealthMonitor healthMonitor, CircuitBreakerManager circuitBreakerManager, InstanceTelemetryCollector telemetryCollector) {
+        this.config = config;
+        this.healthMonitor = healthMonitor;
+        this.circuitBreakerManager = circuitBreakerManager;
+        this.telemetryCollector = telemetryCollector;
+        healthMonitor.addHealthTransitionListener(event -> refresh(event.serviceId()));
+        circuitBreakerManager.addInstanceStateListener(this::onInstanceHealthChanged);
+    }
+
+    public GatewayConfig.ServiceInstance choose(GatewayConfig.ServiceConfig service) {
+        InstanceSnapshot snapshot = snapshot(service);
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        if (service.getLoadBalancingMode() == GatewayConfig.LoadBalancingMode.LEAST_LOADED) {
+            return chooseLeastLoaded(snapshot);
+        }
+        return snapshot.pick();
+    }
+
+    /**
+     * Picks an instance for a request. Consistent-hash services route by the
+     * request's key, and requests without one are spread by weight.
+     */
+    public GatewayConfig.ServiceInstance choose(GatewayConfig.ServiceConfig service, ServerHttpRequest request) {
+        if (service.getLoadBalancingMode() != GatewayConfig.LoadBalancingMode.CONSISTENT_HASH) {
+            return choose(service);
+        }
+        return chooseByKey(service, keyHash(request, service.getHashKey()));
+    }
+
+    public GatewayConfig.ServiceInstance chooseByKey(GatewayConfig.ServiceConfig service, long keyHash) {
+        InstanceSnapshot snapshot = snapshot(service);
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        if (keyHash == ConsistentHashRing.NO_KEY || snapshot.getRing().size() == 0) {
+            return snapshot.pick();
+        }
+        return snapshot.getRing().locate(keyHash);
+    }
+
+    /**
+     * The ring successor of a request's key for failover, skipping {@code failedId}
+     * and {@code skip} further instances. Returns {@code null} when the service does
+     * not hash or the request has no key, leaving the choice to the caller.
+     */
+    public GatewayConfig.ServiceInstance successor(GatewayConfig.ServiceConfig service, ServerHttpRequest request, String failedId, int skip) {
+        if (service.getLoadBalancingMode() != GatewayConfig.LoadBalancingMode.CONSISTENT_HASH) {
+            return null;
+        }
+        long keyHash = keyHash(request, service.getHashKey());
+        return keyHash == ConsistentHashRing.NO_KEY ? null : snapshot(service).getRing().successor(keyHash, failedId, skip);
+    }
+
+    /**
+     * Hashes the configured key of a request in place, without copying it out of the
+     * header or path. Returns {@link ConsistentHashRing#NO_KEY} if the key is absent.
+     */
+    static long keyHash(ServerHttpRequest request, GatewayConfig.HashKeyConfig hashKey) {
+        switch (hashKey.getSource()) {
+            case HEADER -> {
+                String value = request.getHeaders().getFirst(hashKey.getName());
+                return value == null || value.isEmpty() ? ConsistentHashRing.NO_KEY : ConsistentHashRing.hash(value);
+            }
+            case COOKIE -> {
+                String first = request.getHeaders().getFirst(HttpHeaders.COOKIE);
+                if (first == null) {
+                    return ConsistentHashRing.NO_KEY;
+                }
+                long keyHash = cookieHash(first, hashKey.getName());
+                if (keyHash == ConsistentHashRing.NO_KEY) {
+                    List<String> cookies = request.getHeaders().get(HttpHeaders.COOKIE);
+                    for (int i = 1; cookies != null && i < cookies.size() && keyHash == ConsistentHashRing.NO_KEY; i++) {
+                        keyHash = cookieHash(cookies.get(i), hashKey.getName());
+                    }
+                }
+                return keyHash;
+            }
+            case PATH_SEGMENT -> {
+                return pathSegmentHash(request.getURI().getRawPath(), hashKey.getSegment());
+            }
+            default -> {
+                return ConsistentHashRing.NO_KEY;
+            }
+        }
+    }
+
+    private static long cookieHash(String header, String name) {
+        int length = header.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && (header.charAt(start) == ' ' || header.charAt(start) == ';')) {
+                start++;
+            }
+            int end = header.indexOf(';', start);
+            if (end < 0) {
+                end = length;
+            }
+            int separator = start + name.length();
+            if (separator < end && header.charAt(separator) == '=' && header.regionMatches(start, name, 0, name.length())) {
+                int valueStart = separator + 1;
+                int valueEnd = end;
+                while (valueEnd > valueStart && header.charAt(valueEnd - 1) == ' ') {
+                    valueEnd--;
+                }
+                if (valueEnd - valueStart >= 2 && header.charAt(valueStart) == '"' && header.charAt(valueEnd - 1) == '"') {
+                    valueStart++;
+                    valueEnd--;
+                }
+                return valueEnd > valueStart ? ConsistentHashRing.hash(header, valueStart, valueEnd) : ConsistentHashRing.NO_KEY;
+            }
+            start = end + 1;
+        }
+        return ConsistentHashRing.NO_KEY;
+    }
+
+    private static long pathSegmentHash(String path, int segment) {
+        if (path == null) {
+            return ConsistentHashRing.NO_KEY;
+        }
+        int length = path.length();
+        int index = 0;
+        int start = 0;
+        while (start < length) {
+            if (path.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (index++ == segment) {
+                return ConsistentHashRing.hash(path, start, end);
+            }
+            start = end;
+        }
+        return ConsistentHashRing.NO_KEY;
+    }
+
+    /**
+     * Power of two choices: sample two distinct instances and keep the one with the
+     * lower EWMA latency x (in-flight + 1). Comparing just two avoids the herding a
+     * global minimum causes when many requests read the same stale stats.
+     */
+    private GatewayConfig.ServiceInstance chooseLeastLoaded(InstanceSnapshot snapshot) {
+        int size = snapshot.size();
+        if (size == 1) {
+            return snapshot.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        GatewayConfig.ServiceInstance a = snapshot.get(first);
+        GatewayConfig.ServiceInstance b = snapshot.get(second);
+        return telemetryCollector.getLoad(a.getId()).cost() <= telemetryCollector.getLoad(b.getId()).cost() ? a : b;
+    }
+
+    public InstanceSnapshot snapshot(GatewayConfig.ServiceConfig service) {
+        return holder(service).get();
+    }
+
+    public void refresh(GatewayConfig.ServiceConfig service) {
+        AtomicReference<InstanceSnapshot> reference = holder(service);
+        synchronized (reference) {
+            InstanceSnapshot snapshot = buildSnapshot(service);
+            reference.set(snapshot);
+            log.debug("Rebuilt routing snapshot for service: {} (version: {}, instances: {})", service.getId(), snapshot.getVersion(), snapshot.size());
+        }
+    }
+
+    /**
+     * Snapshot holder of a service. A new holder is published only with a built
+     * snapshot in it, so readers never see an empty one.
+     */
+    private AtomicReference<InstanceSnapshot> holder(GatewayConfig.ServiceConfig service) {
+        AtomicReference<InstanceSnapshot> reference = snapshots.get(service.getId());
+        return reference != null ? reference : snapshots.computeIfAbsent(service.getId(), k -> new AtomicReference<>(buildSnapshot(service)));
+    }
+
+    public void refresh(String serviceId) {
+        if (config.getServices() == null) {
+            return;
+        }
+        config.getServices().stream()
+            .filter(service -> service.getId().equals(serviceId))
+            .findFirst()
+            .ifPresent(this::refresh);
+    }
+
+    public void remove(String serviceId) {
+        snapshots.remove(serviceId);
+        weightFactors.remove(serviceId);
+    }
+
+    /**
+     * Replaces the weight factors of a service's instances and publishes a snapshot
+     * built with them. Instances without a factor keep their configured weight.
+     */
+    public void applyWeightFactors(GatewayConfig.ServiceConfig service, Map<String, Double> factors) {
+        if (factors.isEmpty()) {
+            weightFactors.remove(service.getId());
+        } else {
+            weightFactors.put(service.getId(), Map.copyOf(factors));
+        }
+        refresh(service);
+    }
+
+    public Map<String, Double> getWeightFactors(String serviceId) {
+        return weightFactors.getOrDefault(serviceId, Map.of());
+    }
+
+    /**
+     * Configured weight scaled by a factor. A weighted instance keeps a weight of at
+     * least 1, so scaling never takes it out of rotation.
+     */
+    public static int effectiveWeight(GatewayConfig.ServiceInstance instance, double factor) {
+        int weight = instance.getWeight();
+        if (weight <= 0 || factor >= 1.0) {
+            return weight;
+        }
+        return (int) Math.max(Math.round(weight * factor), 1);
+    }
+
+    private void onInstanceHealthChanged(String instanceId) {
+        if (config.getServices() == null) {
+            return;
+        }
+        for (GatewayConfig.ServiceConfig service : config.getServices()) {
+            if (service.getInstances() != null && service.getInstances().stream().anyMatch(instance -> instance.getId().equals(instanceId))) {
+                refresh(service);
+            }
+        }
+    }
+
+    private InstanceSnapshot buildSnapshot(GatewayConfig.ServiceConfig service) {
+        List<GatewayConfig.ServiceInstance> routable = service.getInstances() == null ? List.of() : service.getInstances().stream()
+            .filter(instance -> instance.isActive() && healthMonitor.isServiceHealthy(instance.getId()) && circuitBreakerManager.isInstanceRoutable(instance.getId()))
+            .toList();
+        int virtualNodes = service.getLoadBalancingMode() == GatewayConfig.LoadBalancingMode.CONSISTENT_HASH ? Math.max(service.getHashKey().getVirtualNodes(), 1) : 0;
+        Map<String, Double> factors = getWeightFactors(service.getId());
+        if (factors.isEmpty()) {
+            return InstanceSnapshot.of(versionSequence.incrementAndGet(), routable, virtualNodes);
+        }
+        return InstanceSnapshot.of(versionSequence.incrementAndGet(), routable, virtualNodes, instance -> effectiveWeight(instance, factors.getOrDefault(instance.getId(), 1.0)));
+    }
+}
@@ -1,117 +1,651 @@
 package com.example.gateway.routing;
 
+import java.net.URI;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
-
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.gateway.cache.CacheKey;
+import com.example.gateway.cache.CachedResponse;
+import com.example.gateway.cache.CachingResponseDecorator;
+import com.example.gateway.cache.ResponseCache;
+import com.example.gateway.cache.ResponseCacheManager;
+import com.example.gateway.config.ConnectionPools;
 import com.example.gateway.config.GatewayConfig;
 import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.metrics.GatewayMetrics;
 import com.example.gateway.prediction.FailurePredictionEngine;
-
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.resilience.ClientRateLimiter;
+import com.example.gateway.resilience.ConcurrencyLimiter;
+import com.example.gateway.resilience.LoadShedder;
+import com.example.gateway.resilience.ReplayableRequest;
+import com.example.gateway.resilience.RetryPolicy;
+import com.example.gateway.telemetry.InstanceLoad;
+import com.example.gateway.telemetry.InstanceTelemetry;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.netty.handler.timeout.ReadTimeoutException;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
+import reactor.netty.Connection;
 
 @Component
 @Slf4j
 public class SelfHealingRouteManager {
+    public static final String LOAD_BALANCED_SCHEME = "self-healing";
+    public static final String SELECTED_INSTANCE_ATTR = SelfHealingRouteManager.class.getName() + ".selectedInstance";
+    public static final String CACHE_KEY_ATTR = SelfHealingRouteManager.class.getName() + ".cacheKey";
+    public static final String SERVICE_ID_METADATA = "gateway.service-id";
+    private static final int LOAD_BALANCER_FILTER_ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 150;
+    private static final int RESPONSE_CACHE_FILTER_ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    private static final Duration REVALIDATION_TIMEOUT = Duration.ofSeconds(10);
+
     private final GatewayConfig config;
     private final FailurePredictionEngine predictionEngine;
     private final HealthMonitor healthMonitor;
-    private final WebClient webClient;
+    private final LoadBalancer loadBalancer;
+    private final InstanceTelemetryCollector telemetryCollector;
+    private final CircuitBreakerManager circuitBreakerManager;
+    private final ResponseCacheManager responseCacheManager;
+    private final GatewayMetrics metrics;
+    private final WebClient.Builder webClientBuilder;
+    private final LoadShedder loadShedder;
     private final ConcurrentHashMap<String, List<String>> activeRoutes = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, AtomicInteger> requestCounter = new ConcurrentHashMap<>();
-
-    public SelfHealingRouteManager(GatewayConfig config, FailurePredictionEngine predictionEngine, HealthMonitor healthMonitor, WebClient.Builder webClientBuilder) {
+    private final ConcurrentHashMap<String, HedgingPolicy> hedgingPolicies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RetryPolicy> retryPolicies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ClientRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RouteLocator> serviceRoutes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConnectionPools.PooledWebClient> upstreamClients = new ConcurrentHashMap<>();
+    private volatile RouteLocatorBuilder routeBuilder;
+
+    public SelfHealingRouteManager(GatewayConfig config, FailurePredictionEngine predictionEngine, HealthMonitor healthMonitor, LoadBalancer loadBalancer, InstanceTelemetryCollector telemetryCollector, CircuitBreakerManager circuitBreakerManager, ResponseCacheManager responseCacheManager, GatewayMetrics metrics, WebClient.Builder webClientBuilder) {
         this.config = config;
         this.predictionEngine = predictionEngine;
         this.healthMonitor = healthMonitor;
-        this.webClient = webClientBuilder.codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)).build();
+        this.loadBalancer = loadBalancer;
+        this.telemetryCollector = telemetryCollector;
+        this.circuitBreakerManager = circuitBreakerManager;
+        this.responseCacheManager = responseCacheManager;
+        this.metrics = metrics;
+        this.webClientBuilder = webClientBuilder;
+        this.loadShedder = new LoadShedder(config);
     }
 
+    /**
+     * Builds one route per configured service and returns a locator over whichever
+     * routes are current, so that {@link #updateRoute} and {@link #removeRoute} can
+     * swap individual services at runtime. Every route carries its service id as
+     * {@link #SERVICE_ID_METADATA} for scoped route refreshes.
+     */
     public RouteLocator buildDynamicRoutes(RouteLocatorBuilder builder) {
-        RouteLocatorBuilder.Builder routes = builder.routes();
-
+        this.routeBuilder = builder;
         for (GatewayConfig.ServiceConfig service : config.getServices()) {
-            String routeID = "route-" + service.getId();
-            routes.route(routeID, r -> r.path(service.getPath()).filters(f -> f.filter(createSelfHealingFilter(service))).uri(selectHealthyInstance(service)));
+            updateRoute(null, service);
+        }
+
+        return () -> Flux.defer(() -> {
+            List<GatewayConfig.ServiceConfig> services = config.getServices();
+            return services == null ? Flux.empty() : Flux.fromIterable(services);
+        }).concatMap(service -> {
+            RouteLocator locator = serviceRoutes.get(service.getId());
+            return locator != null ? locator.getRoutes() : Flux.empty();
+        });
+    }
+
+    /**
+     * (Re)builds the route of a service. Request counters survive; per-route policies
+     * are only discarded when the settings they were built from have changed.
+     */
+    public void updateRoute(GatewayConfig.ServiceConfig previous, GatewayConfig.ServiceConfig service) {
+        if (routeBuilder != null) {
+            serviceRoutes.put(service.getId(), routeBuilder.routes()
+                .route("route-" + service.getId(), r -> r.path(service.getPath())
+                    .filters(f -> f.filter(createResponseCachingFilter(service), RESPONSE_CACHE_FILTER_ORDER)
+                        .filter(createSelfHealingFilter(service))
+                        .filter(createLoadBalancingFilter(service), LOAD_BALANCER_FILTER_ORDER))
+                    .metadata(SERVICE_ID_METADATA, service.getId())
+                    .metadata(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR, service.getConnectionPool().getConnectTimeoutMillis())
+                    .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, service.getConnectionPool().getResponseTimeoutMillis() > 0 ? service.getConnectionPool().getResponseTimeoutMillis() : -1)
+                    .uri(LOAD_BALANCED_SCHEME + "://" + service.getId()))
+                .build());
+        }
+
+        List<String> instanceUrls = service.getInstances().stream().map(GatewayConfig.ServiceInstance::getUrl).toList();
+        activeRoutes.put(service.getId(), instanceUrls);
+        requestCounter.putIfAbsent(service.getId(), new AtomicInteger(0));
 
-            List<String> instanceUrls = service.getInstances().stream().map(GatewayConfig.ServiceInstance::getUrl).toList();
+        if (previous != null && !Objects.equals(previous.getHedging(), service.getHedging())) {
+            hedgingPolicies.remove(service.getId());
+        }
+        if (previous != null && !Objects.equals(previous.getRetry(), service.getRetry())) {
+            retryPolicies.remove(service.getId());
+        }
+        if (previous != null && !Objects.equals(previous.getConnectionPool(), service.getConnectionPool())) {
+            retireClient(service.getId());
+        }
+        if (previous != null && !Objects.equals(previous.getConcurrencyLimit(), service.getConcurrencyLimit())) {
+            loadShedder.remove(service.getId());
+        }
+        if (previous != null && !Objects.equals(previous.getRateLimit(), service.getRateLimit())) {
+            rateLimiters.remove(service.getId());
+        }
+    }
 
-            activeRoutes.put(service.getId(), instanceUrls);
-            requestCounter.put(service.getId(), new AtomicInteger(0));
+    /**
+     * WebClient on the service's own connection pool, used for hedged attempts,
+     * failover, retries and cache revalidation.
+     */
+    private WebClient clientFor(GatewayConfig.ServiceConfig service) {
+        ConnectionPools.PooledWebClient client = upstreamClients.get(service.getId());
+        if (client == null) {
+            client = upstreamClients.computeIfAbsent(service.getId(), id -> ConnectionPools.create("upstream-" + id, service.getConnectionPool(), webClientBuilder));
         }
+        return client.webClient();
+    }
+
+    private void retireClient(String serviceId) {
+        ConnectionPools.PooledWebClient client = upstreamClients.remove(serviceId);
+        if (client != null) {
+            client.dispose();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        upstreamClients.keySet().forEach(this::retireClient);
+    }
 
-        return routes.build();
+    public void removeRoute(String serviceId) {
+        serviceRoutes.remove(serviceId);
+        retireClient(serviceId);
+        activeRoutes.remove(serviceId);
+        requestCounter.remove(serviceId);
+        hedgingPolicies.remove(serviceId);
+        retryPolicies.remove(serviceId);
+        loadShedder.remove(serviceId);
+        rateLimiters.remove(serviceId);
     }
 
     public GatewayFilter createSelfHealingFilter(GatewayConfig.ServiceConfig service) {
         return (exchange, chain) -> {
-            String serviceID = service.getId();
-            long startTime = System.currentTimeMillis();
+            ClientRateLimiter rateLimiter = rateLimiter(service);
+            if (rateLimiter != null) {
+                String clientKey = ClientRateLimiter.clientKey(exchange.getRequest(), service.getRateLimit());
+                long now = System.nanoTime();
+                long waitNanos = rateLimiter.tryAcquire(clientKey, now);
+                if (waitNanos > 0) {
+                    metrics.route(service).rateLimited();
+                    log.debug("Rate limit exceeded for service: {} by client: {}", service.getId(), clientKey);
+                    return rejectRateLimited(exchange, rateLimiter, clientKey, now, waitNanos);
+                }
+            }
+            if (service.getFallbackStrategy() == GatewayConfig.FallbackStrategy.RETRY_WITH_BACKOFF) {
+                return ReplayableRequest.buffer(exchange, service.getRetry().getMaxReplayBodyBytes())
+                    .flatMap(replayable -> selfHeal(replayable, chain, service));
+            }
+            return selfHeal(exchange, chain, service);
+        };
+    }
+
+    private Mono<Void> selfHeal(ServerWebExchange exchange, GatewayFilterChain chain, GatewayConfig.ServiceConfig service) {
+        String serviceID = service.getId();
+        CircuitBreaker serviceBreaker = circuitBreakerManager.serviceBreaker(service);
+        GatewayMetrics.RouteMeters routeMeters = metrics.route(service);
+        if (serviceBreaker != null && !serviceBreaker.tryAcquirePermission()) {
+            log.warn("Circuit breaker open for service: {}, failing fast", serviceID);
+            routeMeters.fallback(GatewayConfig.FallbackStrategy.CIRCUIT_BREAKER);
+            return handleCircuitBreaker(exchange, service);
+        }
+
+        ConcurrencyLimiter limiter = loadShedder.limiter(service);
+        LoadShedder.Decision decision = loadShedder.tryAcquire(service, limiter);
+        if (decision != LoadShedder.Decision.ADMITTED) {
+            CircuitBreakerManager.release(serviceBreaker);
+            routeMeters.rejected(decision == LoadShedder.Decision.SHED);
+            log.debug("Rejecting request for service: {} ({}, limit: {})", serviceID, decision, limiter.getLimit());
+            return rejectOverload(exchange, decision);
+        }
+
+        long breakerStart = System.nanoTime();
+        routeMeters.requestStarted();
+
+        return chain.filter(exchange)
+            .doOnSuccess(response -> {
+                long elapsed = System.nanoTime() - breakerStart;
+                long responseTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+                GatewayConfig.ServiceInstance instance = exchange.getAttribute(SELECTED_INSTANCE_ATTR);
+                HttpStatusCode statusCode = instance != null ? exchange.getResponse().getStatusCode() : null;
+                routeMeters.record(elapsed, !isServerError(statusCode));
+                recordMetrics(serviceID, instance, responseTime, true);
+                recordOutcome(service, instance, responseTime, !isServerError(statusCode));
+                CircuitBreakerManager.onResult(serviceBreaker, breakerStart, statusCode);
+                HedgingPolicy hedging = hedgingPolicies.get(serviceID);
+                if (hedging != null && !isServerError(statusCode)) {
+                    hedging.recordLatency(System.nanoTime() - breakerStart);
+                }
+                if (!isServerError(statusCode)) {
+                    retryPolicy(service).onSuccess();
+                }
+            })
+            .doOnCancel(() -> CircuitBreakerManager.release(serviceBreaker))
+            .doOnError(error -> {
+                if (error instanceof CallNotPermittedException) {
+                    CircuitBreakerManager.release(serviceBreaker);
+                    return;
+                }
+                CircuitBreakerManager.onError(serviceBreaker, breakerStart, error);
+                long elapsed = System.nanoTime() - breakerStart;
+                long responseTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+                routeMeters.record(elapsed, false);
+                GatewayConfig.ServiceInstance instance = exchange.getAttribute(SELECTED_INSTANCE_ATTR);
+                recordMetrics(serviceID, instance, responseTime, false);
+                recordOutcome(service, instance, responseTime, false);
+                log.warn("Request failed for service: {} - {}", serviceID, error.getMessage());
+            })
+            .onErrorResume(error -> handleFailureWithRedirection(exchange, service, 0))
+            .then(Mono.defer(() -> retryUpstreamStatus(exchange, service)))
+            .doFinally(signal -> {
+                routeMeters.requestFinished();
+                if (limiter != null) {
+                    loadShedder.release(limiter);
+                }
+            });
+    }
+
+    private ClientRateLimiter rateLimiter(GatewayConfig.ServiceConfig service) {
+        GatewayConfig.RateLimitConfig rateLimitConfig = service.getRateLimit();
+        if (rateLimitConfig == null || !rateLimitConfig.isEnabled()) {
+            return null;
+        }
+        ClientRateLimiter limiter = rateLimiters.get(service.getId());
+        return limiter != null ? limiter : rateLimiters.computeIfAbsent(service.getId(), id -> new ClientRateLimiter(rateLimitConfig));
+    }
+
+    /**
+     * Answers 429 with the RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset
+     * headers of the IETF draft, plus Retry-After. All times are in whole seconds,
+     * rounded up.
+     */
+    private Mono<Void> rejectRateLimited(ServerWebExchange exchange, ClientRateLimiter rateLimiter, String clientKey, long now, long waitNanos) {
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set("RateLimit-Limit", String.valueOf(rateLimiter.getBurst()));
+        headers.set("RateLimit-Remaining", "0");
+        headers.set("RateLimit-Reset", String.valueOf(ceilSeconds(rateLimiter.resetNanos(clientKey, now))));
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(ceilSeconds(waitNanos), 1)));
+        return createErrorResponse(exchange, 429, "Rate limit exceeded");
+    }
+
+    private static long ceilSeconds(long nanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return (nanos + second - 1) / second;
+    }
+
+    /**
+     * Turns a request away before it reaches an upstream, so that overload is not
+     * passed on to the remaining instances through failover.
+     */
+    private Mono<Void> rejectOverload(ServerWebExchange exchange, LoadShedder.Decision decision) {
+        GatewayConfig.LoadSheddingConfig shedding = config.getLoadShedding();
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(shedding.getRetryAfterSeconds(), 0)));
+        String message = decision == LoadShedder.Decision.SHED ? "Request shed - gateway overloaded" : "Service concurrency limit reached";
+        return createErrorResponse(exchange, shedding.getRejectStatus() == 429 ? 429 : 503, message);
+    }
+
+    /**
+     * Feeds an upstream response into the route's limiter. Overload statuses count as
+     * drops; everything else is an RTT sample.
+     */
+    private static void observeResponse(ConcurrencyLimiter limiter, long elapsedNanos, HttpStatusCode statusCode) {
+        if (limiter == null) {
+            return;
+        }
+        int status = statusCode != null ? statusCode.value() : 0;
+        if (status == 429 || status == 503 || status == 504) {
+            limiter.onDropped();
+        } else {
+            limiter.onSample(elapsedNanos);
+        }
+    }
+
+    /**
+     * Only timeouts count as drops. Refused connections point at a dead instance,
+     * which failover handles, not at an overloaded route.
+     */
+    private static void observeError(ConcurrencyLimiter limiter, Throwable error) {
+        if (limiter != null && isTimeout(error)) {
+            limiter.onDropped();
+        }
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof TimeoutException || current instanceof ReadTimeoutException
+                || (current instanceof ResponseStatusException status && status.getStatusCode().value() == 504)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The Netty routing filter treats any upstream status as success and leaves the
+     * body to be written later. For RETRY_WITH_BACKOFF routes a retryable status is
+     * instead discarded, connection and all, before anything reaches the client.
+     */
+    private Mono<Void> retryUpstreamStatus(ServerWebExchange exchange, GatewayConfig.ServiceConfig service) {
+        if (service.getFallbackStrategy() != GatewayConfig.FallbackStrategy.RETRY_WITH_BACKOFF || exchange.getAttribute(SELECTED_INSTANCE_ATTR) == null) {
+            return Mono.empty();
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        HttpStatusCode statusCode = response.getStatusCode();
+        if (connection == null || response.isCommitted() || statusCode == null || !retryPolicy(service).isRetryableStatus(statusCode.value())) {
+            return Mono.empty();
+        }
+
+        log.info("Discarding retryable {} response for service: {}", statusCode.value(), service.getId());
+        exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        connection.dispose();
+        response.getHeaders().clear();
+        metrics.route(service).fallback(GatewayConfig.FallbackStrategy.RETRY_WITH_BACKOFF);
+        return handleRetryWithBackoff(exchange, service);
+    }
+
+    private RetryPolicy retryPolicy(GatewayConfig.ServiceConfig service) {
+        RetryPolicy policy = retryPolicies.get(service.getId());
+        return policy != null ? policy : retryPolicies.computeIfAbsent(service.getId(), id -> new RetryPolicy(service.getRetry()));
+    }
+
+    /**
+     * Serves fresh and stale-while-revalidate hits straight from the route cache and
+     * otherwise decorates the response so a successful upstream body is captured on
+     * its way to the client. Runs ahead of the Netty write filter so that filter
+     * writes through the decorator.
+     */
+    public GatewayFilter createResponseCachingFilter(GatewayConfig.ServiceConfig service) {
+        return (exchange, chain) -> {
+            ResponseCache cache = responseCacheManager.cacheFor(service);
+            if (cache == null || !ResponseCacheManager.isCacheable(exchange.getRequest(), service.getCache())) {
+                return chain.filter(exchange);
+            }
+
+            CacheKey key = CacheKey.of(exchange.getRequest(), service.getCache().getKeyHeaders());
+            exchange.getAttributes().put(CACHE_KEY_ATTR, key);
+
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                switch (cache.freshness(cached)) {
+                    case FRESH -> {
+                        return responseCacheManager.writeCached(exchange, cached, "HIT");
+                    }
+                    case STALE_WHILE_REVALIDATE -> {
+                        revalidate(service, cache, key, exchange.getRequest());
+                        return responseCacheManager.writeCached(exchange, cached, "STALE");
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            CachingResponseDecorator response = new CachingResponseDecorator(exchange.getResponse(), cache, key);
+            return chain.filter(exchange.mutate().response(response).build());
+        };
+    }
+
+    private void revalidate(GatewayConfig.ServiceConfig service, ResponseCache cache, CacheKey key, ServerHttpRequest request) {
+        GatewayConfig.ServiceInstance instance = loadBalancer.choose(service, request);
+        if (instance == null || !cache.beginRevalidation(key)) {
+            return;
+        }
+
+        HttpHeaders requestHeaders = new HttpHeaders();
+        request.getHeaders().forEach((name, values) -> {
+            if (!shouldSkipHeader(name)) {
+                requestHeaders.addAll(name, values);
+            }
+        });
+        String targetUrl = instance.getUrl() + key.path() + (key.query().isEmpty() ? "" : "?" + key.query());
+
+        clientFor(service).get()
+            .uri(targetUrl)
+            .headers(headers -> headers.addAll(requestHeaders))
+            .exchangeToMono(response -> {
+                HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+                if (!cache.accepts(response.statusCode().value(), responseHeaders, responseHeaders.getContentLength())) {
+                    return response.releaseBody();
+                }
+                return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), cache.getMaxEntryBytes())
+                    .map(buffer -> {
+                        byte[] body = new byte[buffer.readableByteCount()];
+                        buffer.read(body);
+                        DataBufferUtils.release(buffer);
+                        return body;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .doOnNext(body -> cache.put(key, response.statusCode().value(), CachingResponseDecorator.cacheableHeaders(responseHeaders), body))
+                    .then();
+            })
+            .timeout(REVALIDATION_TIMEOUT)
+            .doFinally(signal -> cache.endRevalidation(key))
+            .subscribe(null, error -> log.debug("Background revalidation failed for service: {} - {}", service.getId(), error.getMessage()));
+    }
+
+    public GatewayFilter createLoadBalancingFilter(GatewayConfig.ServiceConfig service) {
+        return (exchange, chain) -> {
+            URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            if (requestUrl == null || !LOAD_BALANCED_SCHEME.equals(requestUrl.getScheme())) {
+                return chain.filter(exchange);
+            }
+
+            GatewayConfig.ServiceInstance chosen = loadBalancer.choose(service, exchange.getRequest());
+            if (chosen == null) {
+                if (service.getInstances() == null || service.getInstances().isEmpty()) {
+                    return Mono.error(new IllegalStateException("No instances configured for service: " + service.getId()));
+                }
+                log.warn("No healthy instances available for service: {}, using first available", service.getId());
+                chosen = service.getInstances().get(0);
+            }
+            GatewayConfig.ServiceInstance instance = chosen;
+
+            CircuitBreaker instanceBreaker = circuitBreakerManager.instanceBreaker(service, instance.getId());
+            if (instanceBreaker != null && !instanceBreaker.tryAcquirePermission()) {
+                return Mono.error(CallNotPermittedException.createCallNotPermittedException(instanceBreaker));
+            }
+
+            URI instanceUri = URI.create(instance.getUrl());
+            URI targetUrl = UriComponentsBuilder.fromUri(requestUrl)
+                .scheme(instanceUri.getScheme())
+                .host(instanceUri.getHost())
+                .port(instanceUri.getPort())
+                .build(true)
+                .toUri();
+
+            ServerWebExchangeUtils.addOriginalRequestUrl(exchange, requestUrl);
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, targetUrl);
+            exchange.getAttributes().put(SELECTED_INSTANCE_ATTR, instance);
+
+            HedgingPolicy hedging = hedgingPolicy(service);
+            if (hedging != null && hedging.isEligible(exchange.getRequest()) && loadBalancer.snapshot(service).size() > 1) {
+                return forwardHedged(exchange, service, hedging, instance, instanceBreaker, targetUrl);
+            }
 
+            InstanceLoad load = telemetryCollector.getLoad(instance.getId());
+            ConcurrencyLimiter limiter = loadShedder.limiter(service);
+            long breakerStart = System.nanoTime();
+            load.requestStarted();
             return chain.filter(exchange)
-                .doOnSuccess(response -> {
-                    double responseTime = System.currentTimeMillis() - startTime;
-                    recordMetrics(serviceID, responseTime, true);
+                .doOnSuccess(v -> {
+                    long elapsed = System.nanoTime() - breakerStart;
+                    load.recordLatency(elapsed);
+                    metrics.recordInstanceLatency(service, instance, elapsed);
+                    observeResponse(limiter, elapsed, exchange.getResponse().getStatusCode());
+                    CircuitBreakerManager.onResult(instanceBreaker, breakerStart, exchange.getResponse().getStatusCode());
                 })
                 .doOnError(error -> {
-                    double responseTime = System.currentTimeMillis() - startTime;
-                    recordMetrics(serviceID, responseTime, false);
-                    log.warn("Request failed for service: {} - {}", serviceID, error.getMessage());
+                    observeError(limiter, error);
+                    CircuitBreakerManager.onError(instanceBreaker, breakerStart, error);
                 })
-            .onErrorResume(error -> handleFailureWithRedirection(exchange, service, 0));
+                .doOnCancel(() -> CircuitBreakerManager.release(instanceBreaker))
+                .doFinally(signal -> load.requestFinished());
         };
     }
 
-    private void recordMetrics(String serviceID, double responseTime, boolean success) {
-        double cpuUsage = ThreadLocalRandom.current().nextDouble(0.1, 0.9);
-        double memoryUsage = ThreadLocalRandom.current().nextDouble(0.1, 0.8);
-        int activeConnections = ThreadLocalRandom.current().nextInt(10, 100);
+    private HedgingPolicy hedgingPolicy(GatewayConfig.ServiceConfig service) {
+        GatewayConfig.HedgingConfig hedgingConfig = service.getHedging();
+        if (hedgingConfig == null || !hedgingConfig.isEnabled()) {
+            return null;
+        }
+        HedgingPolicy policy = hedgingPolicies.get(service.getId());
+        return policy != null ? policy : hedgingPolicies.computeIfAbsent(service.getId(), id -> new HedgingPolicy(hedgingConfig));
+    }
+
+    /**
+     * Sends the request to the chosen instance and, if no response headers have
+     * arrived once the route's hedge delay has passed, a duplicate to a second
+     * instance. Whichever response arrives first is streamed to the client and the
+     * other call is cancelled. Hedges are drawn from the route's budget.
+     */
+    private Mono<Void> forwardHedged(ServerWebExchange exchange, GatewayConfig.ServiceConfig service, HedgingPolicy hedging, GatewayConfig.ServiceInstance primary, CircuitBreaker primaryBreaker, URI targetUrl) {
+        ServerHttpRequest request = exchange.getRequest();
+        String pathAndQuery = targetUrl.getRawPath() + (targetUrl.getRawQuery() != null ? "?" + targetUrl.getRawQuery() : "");
+        hedging.getBudget().deposit();
+
+        Mono<HedgedResponse> primaryAttempt = sendAttempt(service, request, primary, primaryBreaker, pathAndQuery);
+        Mono<HedgedResponse> hedgeAttempt = Mono.delay(Duration.ofNanos(hedging.hedgeDelayNanos()))
+            .flatMap(tick -> {
+                GatewayConfig.ServiceInstance secondary = chooseOtherInstance(service, request, primary);
+                if (secondary == null || !hedging.getBudget().tryAcquire()) {
+                    return Mono.empty();
+                }
+                CircuitBreaker secondaryBreaker = circuitBreakerManager.instanceBreaker(service, secondary.getId());
+                if (secondaryBreaker != null && !secondaryBreaker.tryAcquirePermission()) {
+                    hedging.getBudget().refund();
+                    return Mono.empty();
+                }
+                log.debug("Hedging request for service: {} to instance: {}", service.getId(), secondary.getId());
+                metrics.route(service).hedge();
+                return sendAttempt(service, request, secondary, secondaryBreaker, pathAndQuery);
+            });
 
-        predictionEngine.recordMetric(serviceID, responseTime, success, cpuUsage, memoryUsage, activeConnections);
+        return Mono.firstWithValue(primaryAttempt, hedgeAttempt)
+            .flatMap(winner -> {
+                exchange.getAttributes().put(SELECTED_INSTANCE_ATTR, winner.instance());
+                return writeUpstreamResponse(exchange.getResponse(), winner.entity());
+            });
     }
 
-    public String selectHealthyInstance(GatewayConfig.ServiceConfig service) {
-        List<GatewayConfig.ServiceInstance> healthyInstances = service.getInstances().stream().filter(instance -> instance.isActive() && healthMonitor.isServiceHealthy(instance.getId())).toList();
+    private Mono<HedgedResponse> sendAttempt(GatewayConfig.ServiceConfig service, ServerHttpRequest request, GatewayConfig.ServiceInstance instance, CircuitBreaker breaker, String pathAndQuery) {
+        InstanceLoad load = telemetryCollector.getLoad(instance.getId());
+        ConcurrencyLimiter limiter = loadShedder.limiter(service);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return upstreamRequest(service, request, instance.getUrl() + pathAndQuery, false)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .doOnSubscribe(subscription -> load.requestStarted())
+                .doFinally(signal -> load.requestFinished())
+                .doOnNext(entity -> {
+                    long elapsed = System.nanoTime() - start;
+                    load.recordLatency(elapsed);
+                    metrics.recordInstanceLatency(service, instance, elapsed);
+                    observeResponse(limiter, elapsed, entity.getStatusCode());
+                    CircuitBreakerManager.onResult(breaker, start, entity.getStatusCode());
+                })
+                .doOnError(error -> {
+                    observeError(limiter, error);
+                    CircuitBreakerManager.onError(breaker, start, error);
+                })
+                .doOnCancel(() -> CircuitBreakerManager.release(breaker))
+                .map(entity -> new HedgedResponse(instance, entity));
+        });
+    }
 
-        if (healthyInstances.isEmpty()) {
-            log.warn("No healthy instances available for service: {}, using first available", service.getId());
-            return service.getInstances().get(0).getUrl();
+    private GatewayConfig.ServiceInstance chooseOtherInstance(GatewayConfig.ServiceConfig service, ServerHttpRequest request, GatewayConfig.ServiceInstance exclude) {
+        GatewayConfig.ServiceInstance successor = loadBalancer.successor(service, request, exclude.getId(), 0);
+        if (successor != null) {
+            return successor;
+        }
+        InstanceSnapshot snapshot = loadBalancer.snapshot(service);
+        for (int i = 0; i < 3; i++) {
+            GatewayConfig.ServiceInstance candidate = snapshot.isEmpty() ? null : snapshot.pick();
+            if (candidate != null && !candidate.getId().equals(exclude.getId())) {
+                return candidate;
+            }
         }
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.get(i).getId().equals(exclude.getId())) {
+                return snapshot.get(i);
+            }
+        }
+        return null;
+    }
 
-        return selectByWeight(healthyInstances);
+    private record HedgedResponse(GatewayConfig.ServiceInstance instance, ResponseEntity<Flux<DataBuffer>> entity) {
     }
 
-    private String selectByWeight(List<GatewayConfig.ServiceInstance> instances) {
-        int totalWeight = instances.stream().mapToInt(GatewayConfig.ServiceInstance::getWeight).sum();
-        int randomWeight = ThreadLocalRandom.current().nextInt(totalWeight);
-        int currentWeight = 0;
+    private void recordMetrics(String serviceID, GatewayConfig.ServiceInstance instance, double responseTime, boolean success) {
+        String instanceId = instance != null ? instance.getId() : null;
+        InstanceTelemetry telemetry = telemetryCollector.getTelemetry(instanceId);
+        int activeConnections = instanceId != null ? telemetryCollector.getLoad(instanceId).getInFlight() : 0;
 
-        for (GatewayConfig.ServiceInstance instance : instances) {
-            currentWeight += instance.getWeight();
+        predictionEngine.recordMetric(serviceID, responseTime, success, telemetry.getCpuUsage(), telemetry.getMemoryUsage(), activeConnections);
+    }
 
-            if (currentWeight > randomWeight) {
-                return instance.getUrl();
-            }
+    private void recordOutcome(GatewayConfig.ServiceConfig service, GatewayConfig.ServiceInstance instance, long responseTime, boolean success) {
+        if (instance != null) {
+            healthMonitor.recordRequestOutcome(service, instance.getId(), success, responseTime);
+        }
+    }
+
+    private static boolean isServerError(HttpStatusCode statusCode) {
+        return statusCode != null && statusCode.is5xxServerError();
+    }
+
+    public String selectHealthyInstance(GatewayConfig.ServiceConfig service) {
+        GatewayConfig.ServiceInstance instance = loadBalancer.choose(service);
+
+        if (instance == null) {
+            log.warn("No healthy instances available for service: {}, using first available", service.getId());
+            return service.getInstances().get(0).getUrl();
         }
 
-        return instances.getFirst().getUrl();
+        return instance.getUrl();
     }
 
     private Mono<Void> handleFailureWithRedirection(ServerWebExchange exchange, GatewayConfig.ServiceConfig service, int attemptCount) {
@@ -122,10 +656,11 @@ public class SelfHealingRouteManager {
             return handleFallbackStrategy(exchange, service);
         }
 
-        String nextHealthyInstance = findNextHealthyInstance(service, attemptCount);
+        GatewayConfig.ServiceInstance nextHealthyInstance = findNextHealthyInstance(exchange, service, attemptCount);
 
         if (nextHealthyInstance != null) {
-            log.info("Redirecting request to healthy instance: {} for service: {} (attempt: {})", nextHealthyInstance, service.getId(), attemptCount + 1);
+            log.info("Redirecting request to healthy instance: {} for service: {} (attempt: {})", nextHealthyInstance.getUrl(), service.getId(), attemptCount + 1);
+            metrics.route(service).failover(service.getFallbackStrategy());
             return redirectToHealthyInstance(exchange, service, nextHealthyInstance, attemptCount);
         } else {
             log.warn("No healthy instances available for service: {}, falling back to strategy: {}", service.getId(), service.getFallbackStrategy());
@@ -133,8 +668,14 @@ public class SelfHealingRouteManager {
         }
     }
 
-    private String findNextHealthyInstance(GatewayConfig.ServiceConfig service, int attemptCount) {
-        List<GatewayConfig.ServiceInstance> healthyInstances = service.getInstances().stream().filter(instance -> instance.isActive() && healthMonitor.isServiceHealthy(instance.getId())).toList();
+    private GatewayConfig.ServiceInstance findNextHealthyInstance(ServerWebExchange exchange, GatewayConfig.ServiceConfig service, int attemptCount) {
+        GatewayConfig.ServiceInstance failed = exchange.getAttribute(SELECTED_INSTANCE_ATTR);
+        GatewayConfig.ServiceInstance successor = loadBalancer.successor(service, exchange.getRequest(), failed != null ? failed.getId() : null, attemptCount);
+        if (successor != null) {
+            return successor;
+        }
+
+        InstanceSnapshot healthyInstances = loadBalancer.snapshot(service);
 
         if (healthyInstances.isEmpty()) {
             return null;
@@ -146,18 +687,55 @@ public class SelfHealingRouteManager {
 
         int index = (counter.getAndIncrement() + attemptCount) % healthyInstances.size();
 
-        return healthyInstances.get(index).getUrl();
+        return healthyInstances.get(index);
     }
 
-    private Mono<Void> redirectToHealthyInstance(ServerWebExchange exchange, GatewayConfig.ServiceConfig service, String targetInstanceUrl, int attemptCount) {
+    private Mono<Void> redirectToHealthyInstance(ServerWebExchange exchange, GatewayConfig.ServiceConfig service, GatewayConfig.ServiceInstance targetInstance, int attemptCount) {
         ServerHttpRequest request = exchange.getRequest();
         ServerHttpResponse response = exchange.getResponse();
+        String targetInstanceUrl = targetInstance.getUrl();
+        CircuitBreaker instanceBreaker = circuitBreakerManager.instanceBreaker(service, targetInstance.getId());
+        if (instanceBreaker != null && !instanceBreaker.tryAcquirePermission()) {
+            log.debug("Circuit breaker rejected redirect to instance: {} for service: {}", targetInstance.getId(), service.getId());
+            return handleFailureWithRedirection(exchange, service, attemptCount + 1);
+        }
+
+        InstanceLoad load = telemetryCollector.getLoad(targetInstance.getId());
+        long breakerStart = System.nanoTime();
 
         String targetPath = request.getURI().getRawPath();
         String targetQuery = request.getURI().getRawQuery();
         String targetUrl = targetInstanceUrl + targetPath + (targetQuery != null ? "?" + targetQuery : "");
 
-        WebClient.RequestBodySpec requestSpec = webClient
+        return upstreamRequest(service, request, targetUrl, hasBody(request)).retrieve()
+            .toEntityFlux(DataBuffer.class)
+            .flatMap(responseEntity -> writeUpstreamResponse(response, responseEntity))
+            .doOnSubscribe(subscription -> load.requestStarted())
+            .doFinally(signal -> load.requestFinished())
+            .doOnCancel(() -> CircuitBreakerManager.release(instanceBreaker))
+            .doOnSuccess(v -> {
+                log.info("Successfully redirected request to: {} for service: {}", targetInstanceUrl, service.getId());
+                long elapsed = System.nanoTime() - breakerStart;
+                long responseTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+                recordMetrics(service.getId(), targetInstance, responseTime, true);
+                recordOutcome(service, targetInstance, responseTime, true);
+                load.recordLatency(elapsed);
+                metrics.recordInstanceLatency(service, targetInstance, elapsed);
+                CircuitBreakerManager.onResult(instanceBreaker, breakerStart, response.getStatusCode());
+            })
+            .onErrorResume(redirectError -> {
+                log.warn("Redirect failed to instance: {} for service: {} - {}", targetInstanceUrl, service.getId(), redirectError.getMessage());
+                CircuitBreakerManager.onError(instanceBreaker, breakerStart, redirectError);
+                long responseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - breakerStart);
+                recordMetrics(service.getId(), targetInstance, responseTime, false);
+                recordOutcome(service, targetInstance, responseTime, false);
+
+                return handleFailureWithRedirection(exchange, service, attemptCount + 1);
+            });
+    }
+
+    private WebClient.RequestHeadersSpec<?> upstreamRequest(GatewayConfig.ServiceConfig service, ServerHttpRequest request, String targetUrl, boolean withBody) {
+        WebClient.RequestBodySpec requestSpec = clientFor(service)
             .method(request.getMethod())
             .uri(targetUrl)
             .headers(headers -> {
@@ -167,61 +745,34 @@ public class SelfHealingRouteManager {
                     }
                 });
             });
-        
-        Mono<String> requestBody = exchange.getRequest().getBody()
-            .map(dataBuffer -> {
-                byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                dataBuffer.read(bytes);
-                return new String(bytes);
-            })
-            .reduce("", String::concat);
-        
-        return requestBody.flatMap(body -> {
-            WebClient.ResponseSpec responseSpec;
-
-            if (!body.isEmpty()) {
-                responseSpec = requestSpec.bodyValue(body).retrieve();
-            } else {
-                responseSpec = requestSpec.retrieve();
-            }
 
-            return responseSpec
-                .toEntity(String.class)
-                .flatMap(responseEntity -> {
-                    response.setStatusCode(responseEntity.getStatusCode());
-                    responseEntity.getHeaders().forEach((key, values) -> {
-                        if (!shouldSkipHeader(key)) {
-                            response.getHeaders().addAll(key, values);
-                        }
-                    });
-
-                    String responseBody = responseEntity.getBody();
-                    if (responseBody != null && !responseBody.isEmpty()) {
-                        DataBuffer buffer = response.bufferFactory().wrap(responseBody.getBytes());
-                        return response.writeWith(Mono.just(buffer));
-                    } else {
-                        return response.setComplete();
-                    }
-                })
-                .doOnSuccess(v -> {
-                    log.info("Successfully redirected request to: {} for service: {}", targetInstanceUrl, service.getId());
-                    recordMetrics(service.getId(), 0, true);
-                })
-                .onErrorResume(redirectError -> {
-                    log.warn("Redirect failed to instance: {} for service: {} - {}", targetInstanceUrl, service.getId(), redirectError.getMessage());
-                    recordMetrics(service.getId(), 0, false);
+        return withBody ? requestSpec.body(BodyInserters.fromDataBuffers(request.getBody())) : requestSpec;
+    }
 
-                    return handleFailureWithRedirection(exchange, service, attemptCount + 1);
-                });
+    private static Mono<Void> writeUpstreamResponse(ServerHttpResponse response, ResponseEntity<Flux<DataBuffer>> responseEntity) {
+        response.setStatusCode(responseEntity.getStatusCode());
+        responseEntity.getHeaders().forEach((key, values) -> {
+            if (!shouldSkipHeader(key)) {
+                response.getHeaders().addAll(key, values);
+            }
         });
+
+        Flux<DataBuffer> responseBody = responseEntity.getBody();
+        return response.writeWith(responseBody != null ? responseBody : Flux.empty());
+    }
+
+    private boolean hasBody(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
     }
 
-    private boolean shouldSkipHeader(String headerName) {
+    static boolean shouldSkipHeader(String headerName) {
         String lHeaderName = headerName.toLowerCase();
-        return lHeaderName.equals("host") || lHeaderName.equals("content-length") || lHeaderName.equals("x-forwarded");
+        return lHeaderName.equals("host") || lHeaderName.equals("content-length") || lHeaderName.equals("transfer-encoding") || lHeaderName.equals("x-forwarded");
     }
 
     private Mono<Void> handleFallbackStrategy(ServerWebExchange exchange, GatewayConfig.ServiceConfig service) {
+        metrics.route(service).fallback(service.getFallbackStrategy());
         switch (service.getFallbackStrategy()) {
             case CIRCUIT_BREAKER -> {
                 return handleCircuitBreaker(exchange, service);
@@ -251,8 +802,23 @@ public class SelfHealingRouteManager {
     }
 
     private Mono<Void> handleCachedResponse(ServerWebExchange exchange, GatewayConfig.ServiceConfig service) {
+        CachedResponse cached = findStaleIfError(exchange, service);
+        if (cached == null) {
+            log.info("No cached response available for service: {}", service.getId());
+            return createErrorResponse(exchange, 503, "Service temporarily unavailable - no cached response");
+        }
         log.info("Returning cached response for service: {}", service.getId());
-        return createSuccessResponse(exchange, "{\"status\":\"cached\",\"message\":\"Cached response due to service unavailability\",\"timestamp\":\"" + java.time.LocalDateTime.now() + "\"}");
+        return responseCacheManager.writeCached(exchange, cached, "STALE");
+    }
+
+    private CachedResponse findStaleIfError(ServerWebExchange exchange, GatewayConfig.ServiceConfig service) {
+        ResponseCache cache = responseCacheManager.cacheFor(service);
+        CacheKey key = exchange.getAttribute(CACHE_KEY_ATTR);
+        if (cache == null || key == null) {
+            return null;
+        }
+        CachedResponse cached = cache.get(key);
+        return cached != null && cache.freshness(cached) != ResponseCache.Freshness.EXPIRED ? cached : null;
     }
 
     private Mono<Void> handleDefaultResponse(ServerWebExchange exchange, GatewayConfig.ServiceConfig service) {
@@ -261,46 +827,107 @@ public class SelfHealingRouteManager {
     }
 
     private Mono<Void> handleRetryWithBackoff(ServerWebExchange exchange, GatewayConfig.ServiceConfig service) {
-        log.info("Implementing retry with backoff for service: {}", service.getId());
-
-        return Mono.delay(Duration.ofSeconds(1))
-            .then(findAnyHealthyInstance(service))
-            .flatMap(healthyInstance -> {
-                if (healthyInstance != null) {
-                    return redirectToHealthyInstance(exchange, service, healthyInstance, 0);
-                } else {
-                    return createErrorResponse(exchange, 503, "Service temporarily unavailable - all instances down");
-                }
+        if (!ReplayableRequest.isReplayable(exchange.getRequest())) {
+            log.info("Request body for service: {} cannot be replayed, not retrying", service.getId());
+            return createErrorResponse(exchange, 503, "Service temporarily unavailable - request cannot be retried");
+        }
+        return retryAttempt(exchange, service, retryPolicy(service), 1);
+    }
+
+    private Mono<Void> retryAttempt(ServerWebExchange exchange, GatewayConfig.ServiceConfig service, RetryPolicy policy, int attempt) {
+        if (attempt > policy.getMaxAttempts()) {
+            log.warn("Retries exhausted for service: {}", service.getId());
+            return createErrorResponse(exchange, 503, "Service temporarily unavailable - retries exhausted");
+        }
+        if (!policy.getBudget().tryAcquire()) {
+            log.warn("Retry budget exhausted for service: {}", service.getId());
+            return createErrorResponse(exchange, 503, "Service temporarily unavailable - retry budget exhausted");
+        }
+
+        Duration backoff = policy.backoff(attempt);
+        return Mono.delay(backoff).then(Mono.defer(() -> {
+            GatewayConfig.ServiceInstance instance = loadBalancer.choose(service);
+            if (instance == null) {
+                return createErrorResponse(exchange, 503, "Service temporarily unavailable - all instances down");
+            }
+            log.info("Retrying request for service: {} on instance: {} (attempt: {}, backoff: {} ms)", service.getId(), instance.getId(), attempt, backoff.toMillis());
+            metrics.route(service).retry();
+            return sendRetry(exchange, service, policy, instance)
+                .onErrorResume(error -> {
+                    if (exchange.getResponse().isCommitted()) {
+                        return Mono.error(error);
+                    }
+                    if (!policy.isRetryable(error)) {
+                        log.warn("Non-retryable failure for service: {} - {}", service.getId(), error.getMessage());
+                        return createErrorResponse(exchange, 502, "Bad gateway");
+                    }
+                    return retryAttempt(exchange, service, policy, attempt + 1);
+                });
+        }));
+    }
+
+    /**
+     * One retry attempt. Retryable statuses surface as errors; any other upstream
+     * status, error or not, is the answer and goes to the client unchanged.
+     */
+    private Mono<Void> sendRetry(ServerWebExchange exchange, GatewayConfig.ServiceConfig service, RetryPolicy policy, GatewayConfig.ServiceInstance instance) {
+        ServerHttpRequest request = exchange.getRequest();
+        CircuitBreaker instanceBreaker = circuitBreakerManager.instanceBreaker(service, instance.getId());
+        if (instanceBreaker != null && !instanceBreaker.tryAcquirePermission()) {
+            return Mono.error(CallNotPermittedException.createCallNotPermittedException(instanceBreaker));
+        }
+
+        InstanceLoad load = telemetryCollector.getLoad(instance.getId());
+        String query = request.getURI().getRawQuery();
+        String targetUrl = instance.getUrl() + request.getURI().getRawPath() + (query != null ? "?" + query : "");
+        long breakerStart = System.nanoTime();
+
+        return upstreamRequest(service, request, targetUrl, hasBody(request)).retrieve()
+            .onStatus(status -> policy.isRetryableStatus(status.value()), ClientResponse::createException)
+            .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+            .toEntityFlux(DataBuffer.class)
+            .doOnNext(entity -> {
+                long elapsed = System.nanoTime() - breakerStart;
+                long responseTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+                load.recordLatency(elapsed);
+                metrics.recordInstanceLatency(service, instance, elapsed);
+                CircuitBreakerManager.onResult(instanceBreaker, breakerStart, entity.getStatusCode());
+                recordMetrics(service.getId(), instance, responseTime, !isServerError(entity.getStatusCode()));
+                recordOutcome(service, instance, responseTime, !isServerError(entity.getStatusCode()));
             })
-            .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(10))
-                .doBeforeRetry(retrySignal -> 
-                    log.info("Retrying request for service: {} (attempt: {})", service.getId(), retrySignal.totalRetries() + 1)
-                )
-            );
-    }
-
-    private Mono<String> findAnyHealthyInstance(GatewayConfig.ServiceConfig service) {
-        return Mono.fromCallable(() -> {
-            Optional<GatewayConfig.ServiceInstance> healthyInstances = service.getInstances()
-                .stream()
-                .filter(instance -> instance.isActive() && healthMonitor.isServiceHealthy(instance.getId()))
-                .findFirst();
-            return healthyInstances.map(GatewayConfig.ServiceInstance::getUrl).orElse(null);
-        });
+            .doOnError(error -> {
+                long responseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - breakerStart);
+                CircuitBreakerManager.onError(instanceBreaker, breakerStart, error);
+                recordMetrics(service.getId(), instance, responseTime, false);
+                recordOutcome(service, instance, responseTime, false);
+            })
+            .doOnCancel(() -> CircuitBreakerManager.release(instanceBreaker))
+            .doOnSubscribe(subscription -> load.requestStarted())
+            .doFinally(signal -> load.requestFinished())
+            .flatMap(entity -> {
+                exchange.getAttributes().put(SELECTED_INSTANCE_ATTR, instance);
+                return writeUpstreamResponse(exchange.getResponse(), entity);
+            });
     }
 
     private Mono<Void> handleHybridStrategy(ServerWebExchange exchange, GatewayConfig.ServiceConfig service) {
-        return findAnyHealthyInstance(service)
-            .flatMap(healthyInstance -> {
-
-                if (healthyInstance != null) {
-                    log.info("Hybrid strategy: Found healthy instance {} for service: {}", healthyInstance, service.getId());
-                    return redirectToHealthyInstance(exchange, service, healthyInstance, 0);
-                } else {
-                    log.info("Hybrid strategy: No healthy instances, falling back to default response for service: {}", service.getId());
-                    return handleDefaultResponse(exchange, service);
-                }
-            });
+        return Mono.defer(() -> {
+            InstanceSnapshot healthyInstances = loadBalancer.snapshot(service);
+            if (!healthyInstances.isEmpty()) {
+                GatewayConfig.ServiceInstance healthyInstance = healthyInstances.get(0);
+                log.info("Hybrid strategy: Found healthy instance {} for service: {}", healthyInstance.getUrl(), service.getId());
+                return redirectToHealthyInstance(exchange, service, healthyInstance, 0);
+            }
+
+            CachedResponse cached = findStaleIfError(exchange, service);
+            if (cached != null) {
+                log.info("Hybrid strategy: No healthy instances, serving cached response for service: {}", service.getId());
+                return responseCacheManager.writeCached(exchange, cached, "STALE");
+            }
+
+            log.info("Hybrid strategy: No healthy instances, falling back to default response for service: {}", service.getId());
+            return handleDefaultResponse(exchange, service);
+        });
     }
 
     private Mono<Void> createErrorResponse(ServerWebExchange exchange, int statusCode, String message) {
@@ -317,6 +944,9 @@ public class SelfHealingRouteManager {
 
     private Mono<Void> createSuccessResponse(ServerWebExchange exchange, String responseBody) {
         ServerHttpResponse response = exchange.getResponse();
+        if (response instanceof CachingResponseDecorator decorator) {
+            decorator.skipCapture();
+        }
         response.setStatusCode(HttpStatus.OK);
         response.getHeaders().add("Content-Type", "application/json");
 
@@ -0,0 +1,177 @@
+package com.example.gateway.routing;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.cache.ResponseCacheManager;
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.scheduler.HealthProbeScheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies a new list of services to the running gateway. Services that did not
+ * change keep their route, config objects and all derived state. Added and changed
+ * services get a rebuilt route, published through a {@link RefreshRoutesEvent}
+ * scoped to that service, so the rest of the route cache is left alone. Health,
+ * prediction and request-counter state of surviving instances is preserved; state
+ * derived from changed settings, such as breakers and caches, is recreated.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceConfigReloader {
+    private final GatewayConfig gatewayConfig;
+    private final SelfHealingRouteManager routeManager;
+    private final LoadBalancer loadBalancer;
+    private final HealthMonitor healthMonitor;
+    private final HealthProbeScheduler probeScheduler;
+    private final CircuitBreakerManager circuitBreakerManager;
+    private final ResponseCacheManager responseCacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public synchronized ReloadResult apply(List<GatewayConfig.ServiceConfig> desired) {
+        validate(desired);
+
+        Map<String, GatewayConfig.ServiceConfig> current = new LinkedHashMap<>();
+        if (gatewayConfig.getServices() != null) {
+            gatewayConfig.getServices().forEach(service -> current.put(service.getId(), service));
+        }
+
+        List<GatewayConfig.ServiceConfig> next = new ArrayList<>(desired.size());
+        List<String> added = new ArrayList<>();
+        List<String> updated = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        for (GatewayConfig.ServiceConfig service : desired) {
+            GatewayConfig.ServiceConfig previous = current.get(service.getId());
+            if (service.equals(previous)) {
+                next.add(previous);
+                unchanged.add(service.getId());
+                continue;
+            }
+            if (previous != null) {
+                reuseUnchangedInstances(previous, service);
+                updated.add(service.getId());
+            } else {
+                added.add(service.getId());
+            }
+            next.add(service);
+        }
+        Set<String> desiredIds = new HashSet<>(next.stream().map(GatewayConfig.ServiceConfig::getId).toList());
+        List<String> removed = current.keySet().stream().filter(id -> !desiredIds.contains(id)).toList();
+
+        if (added.isEmpty() && updated.isEmpty() && removed.isEmpty()) {
+            return new ReloadResult(added, updated, removed, unchanged);
+        }
+
+        Set<String> remainingInstances = instanceIds(next);
+        gatewayConfig.setServices(next);
+        healthMonitor.reindex();
+
+        for (String serviceId : removed) {
+            GatewayConfig.ServiceConfig previous = current.get(serviceId);
+            routeManager.removeRoute(serviceId);
+            loadBalancer.remove(serviceId);
+            responseCacheManager.evict(serviceId);
+            circuitBreakerManager.retireService(serviceId);
+            retireInstances(previous, remainingInstances);
+        }
+        for (GatewayConfig.ServiceConfig service : next) {
+            if (unchanged.contains(service.getId())) {
+                continue;
+            }
+            GatewayConfig.ServiceConfig previous = current.get(service.getId());
+            if (previous != null) {
+                if (!Objects.equals(previous.getCircuitBreaker(), service.getCircuitBreaker())) {
+                    circuitBreakerManager.retireService(service.getId());
+                    retireInstances(previous, Set.of());
+                } else {
+                    retireInstances(previous, remainingInstances);
+                }
+                if (!Objects.equals(previous.getCache(), service.getCache()) || previous.getFallbackStrategy() != service.getFallbackStrategy()) {
+                    responseCacheManager.evict(service.getId());
+                }
+            }
+            routeManager.updateRoute(previous, service);
+            loadBalancer.refresh(service);
+        }
+        probeScheduler.reconcile();
+
+        List<String> changed = new ArrayList<>(added);
+        changed.addAll(updated);
+        changed.addAll(removed);
+        changed.forEach(serviceId -> eventPublisher.publishEvent(new RefreshRoutesEvent(this, Map.of(SelfHealingRouteManager.SERVICE_ID_METADATA, serviceId))));
+
+        log.info("Reloaded services - added: {}, updated: {}, removed: {}, unchanged: {}", added, updated, removed, unchanged.size());
+        return new ReloadResult(added, updated, removed, unchanged);
+    }
+
+    /**
+     * Keeps the existing instance objects wherever an instance is unchanged, so
+     * anything holding on to them, such as in-flight requests, sees the same object.
+     */
+    private static void reuseUnchangedInstances(GatewayConfig.ServiceConfig previous, GatewayConfig.ServiceConfig service) {
+        Map<String, GatewayConfig.ServiceInstance> existing = new LinkedHashMap<>();
+        previous.getInstances().forEach(instance -> existing.put(instance.getId(), instance));
+        List<GatewayConfig.ServiceInstance> instances = new ArrayList<>(service.getInstances().size());
+        for (GatewayConfig.ServiceInstance instance : service.getInstances()) {
+            GatewayConfig.ServiceInstance old = existing.get(instance.getId());
+            instances.add(instance.equals(old) ? old : instance);
+        }
+        service.setInstances(instances);
+    }
+
+    private void retireInstances(GatewayConfig.ServiceConfig previous, Set<String> keep) {
+        previous.getInstances().stream()
+            .map(GatewayConfig.ServiceInstance::getId)
+            .filter(id -> !keep.contains(id))
+            .forEach(circuitBreakerManager::retireInstance);
+    }
+
+    private static Set<String> instanceIds(List<GatewayConfig.ServiceConfig> services) {
+        Set<String> ids = new HashSet<>();
+        services.forEach(service -> service.getInstances().forEach(instance -> ids.add(instance.getId())));
+        return ids;
+    }
+
+    private static void validate(List<GatewayConfig.ServiceConfig> services) {
+        if (services == null) {
+            throw new IllegalArgumentException("Service list is required");
+        }
+        Set<String> ids = new HashSet<>();
+        for (GatewayConfig.ServiceConfig service : services) {
+            if (service.getId() == null || service.getId().isBlank()) {
+                throw new IllegalArgumentException("Every service needs an id");
+            }
+            if (!ids.add(service.getId())) {
+                throw new IllegalArgumentException("Duplicate service id: " + service.getId());
+            }
+            if (service.getPath() == null || service.getPath().isBlank()) {
+                throw new IllegalArgumentException("Service " + service.getId() + " needs a path");
+            }
+            if (service.getInstances() == null) {
+                service.setInstances(new ArrayList<>());
+            }
+            for (GatewayConfig.ServiceInstance instance : service.getInstances()) {
+                if (instance.getId() == null || instance.getUrl() == null) {
+                    throw new IllegalArgumentException("Every instance of service " + service.getId() + " needs an id and a url");
+                }
+            }
+        }
+    }
+
+    public record ReloadResult(List<String> added, List<String> updated, List<String> removed, List<String> unchanged) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.gateway.routing;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.prediction.FailurePredictionEngine;
+import com.example.gateway.telemetry.InstanceTelemetry;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves traffic away from instances of a service at predicted risk of failing.
+ * Predictions are made per service, so the risk is attributed to its instances by
+ * how stressed each one is compared with the others: CPU, heap, failure rate over
+ * the outlier detection window and latency above the service average. The least stressed instance keeps its full
+ * weight and the most stressed one loses the whole risk score, down to the
+ * configured floor. Weights drop at once but come back by at most one recovery step
+ * per prediction, so an instance that just recovered is not flooded again.
+ */
+@Component
+@Slf4j
+public class TrafficShifter {
+    private static final double MIN_STRESS_SPREAD = 0.05;
+    private static final double EPSILON = 1e-6;
+
+    private final GatewayConfig gatewayConfig;
+    private final LoadBalancer loadBalancer;
+    private final HealthMonitor healthMonitor;
+    private final InstanceTelemetryCollector telemetryCollector;
+    private final Deque<WeightShift> auditLog = new ArrayDeque<>();
+
+    public TrafficShifter(GatewayConfig gatewayConfig, LoadBalancer loadBalancer, HealthMonitor healthMonitor, InstanceTelemetryCollector telemetryCollector) {
+        this.gatewayConfig = gatewayConfig;
+        this.loadBalancer = loadBalancer;
+        this.healthMonitor = healthMonitor;
+        this.telemetryCollector = telemetryCollector;
+    }
+
+    /**
+     * Adjusts the instance weights of a service to its latest prediction and
+     * publishes them in one snapshot. A prediction that requires no action lets
+     * shifted weights recover.
+     */
+    public synchronized void apply(GatewayConfig.ServiceConfig service, FailurePredictionEngine.PredictionResult prediction) {
+        GatewayConfig.TrafficShiftConfig config = gatewayConfig.getPrediction().getTrafficShift();
+        Map<String, Double> current = loadBalancer.getWeightFactors(service.getId());
+        List<GatewayConfig.ServiceInstance> instances = service.getInstances() == null ? List.of() : service.getInstances();
+        if (!config.isEnabled() || instances.size() < 2) {
+            if (!current.isEmpty()) {
+                loadBalancer.applyWeightFactors(service, Map.of());
+                log.info("Restored configured weights for service: {}", service.getId());
+            }
+            return;
+        }
+
+        double risk = prediction.isActionRequired() ? Math.max(Math.min(prediction.getRiskScore(), 1.0), 0.0) : 0.0;
+        double floor = Math.max(Math.min(config.getMinWeightPercent() / 100.0, 1.0), 0.0);
+        double step = Math.max(config.getRecoveryStepPercent() / 100.0, EPSILON);
+        double[] attribution = risk > 0 ? attribute(instances) : new double[instances.size()];
+
+        Map<String, Double> next = new HashMap<>();
+        List<WeightShift> shifts = new ArrayList<>();
+        for (int i = 0; i < instances.size(); i++) {
+            GatewayConfig.ServiceInstance instance = instances.get(i);
+            double previous = current.getOrDefault(instance.getId(), 1.0);
+            double target = Math.max(1.0 - risk * attribution[i], floor);
+            double factor = target < previous ? target : Math.min(target, previous + step);
+            if (factor < 1.0 - EPSILON) {
+                next.put(instance.getId(), factor);
+            } else {
+                factor = 1.0;
+            }
+            if (Math.abs(factor - previous) > EPSILON) {
+                shifts.add(new WeightShift(Instant.now(), service.getId(), instance.getId(), instance.getWeight(),
+                    LoadBalancer.effectiveWeight(instance, previous), LoadBalancer.effectiveWeight(instance, factor), risk, prediction.getReason()));
+            }
+        }
+        if (shifts.isEmpty()) {
+            return;
+        }
+
+        loadBalancer.applyWeightFactors(service, next);
+        shifts.forEach(this::record);
+    }
+
+    /**
+     * Share of the service's risk each instance carries, from 0 for the least
+     * stressed to 1 for the most stressed. All zero when the instances look alike,
+     * since shifting between them would gain nothing.
+     */
+    private double[] attribute(List<GatewayConfig.ServiceInstance> instances) {
+        int size = instances.size();
+        double[] latency = new double[size];
+        double latencySum = 0;
+        int sampled = 0;
+        for (int i = 0; i < size; i++) {
+            latency[i] = telemetryCollector.getLoad(instances.get(i).getId()).getEwmaLatencyNanos();
+            if (latency[i] > 0) {
+                latencySum += latency[i];
+                sampled++;
+            }
+        }
+        double meanLatency = sampled > 0 ? latencySum / sampled : 0;
+
+        double[] stress = new double[size];
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            String instanceId = instances.get(i).getId();
+            InstanceTelemetry telemetry = telemetryCollector.getTelemetry(instanceId);
+            double errorRate = healthMonitor.getRecentFailureRate(instanceId);
+            double latencyExcess = meanLatency > 0 && latency[i] > 0 ? Math.min(Math.max(latency[i] / meanLatency - 1.0, 0.0), 1.0) : 0.0;
+            stress[i] = Math.max(Math.max(telemetry.getCpuUsage(), telemetry.getMemoryUsage()), Math.max(errorRate, latencyExcess));
+            min = Math.min(min, stress[i]);
+            max = Math.max(max, stress[i]);
+        }
+
+        double[] attribution = new double[size];
+        if (max - min < MIN_STRESS_SPREAD) {
+            return attribution;
+        }
+        for (int i = 0; i < size; i++) {
+            attribution[i] = (stress[i] - min) / (max - min);
+        }
+        return attribution;
+    }
+
+    private void record(WeightShift shift) {
+        log.info("Shifted traffic of instance {} (service: {}): weight {} -> {} of {} (risk: {}, reason: {})",
+            shift.instanceId(), shift.serviceId(), shift.previousWeight(), shift.newWeight(), shift.configuredWeight(), String.format("%.2f", shift.riskScore()), shift.reason());
+        int auditSize = Math.max(gatewayConfig.getPrediction().getTrafficShift().getAuditSize(), 1);
+        synchronized (auditLog) {
+            auditLog.addLast(shift);
+            while (auditLog.size() > auditSize) {
+                auditLog.removeFirst();
+            }
+        }
+    }
+
+    /** Recorded weight shifts, oldest first. */
+    public List<WeightShift> getAuditLog() {
+        synchronized (auditLog) {
+            return List.copyOf(auditLog);
+        }
+    }
+
+    public record WeightShift(Instant timestamp, String serviceId, String instanceId, int configuredWeight, int previousWeight, int newWeight, double riskScore, String reason) {
+    }
+}
@@ -5,7 +5,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.example.gateway.config.GatewayConfig;
-import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.routing.TrafficShifter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,26 +18,8 @@ import reactor.core.scheduler.Schedulers;
 @Slf4j
 public class HealthCheckScheduler {
     private final GatewayConfig gatewayConfig;
-    private final HealthMonitor healthMonitor;
     private final FailurePredictionEngine predictionEngine;
-
-    @Scheduled(fixedRateString = "#{${gateway.health-check.interval-seconds:30} * 1000}")
-    public void performHealthCheck() {
-        log.debug("Starting scheduled health checks...");
-
-        Flux.fromIterable(gatewayConfig.getServices()).flatMap(service -> 
-            Flux.fromIterable(service.getInstances()).flatMap(instance -> 
-                healthMonitor.checkHealth(instance.getId(), instance.getUrl(), gatewayConfig.getHealthCheck().getHealthEndpoint()).onErrorResume(error -> {
-                    log.error("Health check failed for instance: {} - {}", instance.getId(), error.getMessage());
-                    return Mono.empty();
-                })
-            )
-        ).subscribe(
-            health -> log.debug("Health check completed for: {}", health.getServiceID()),
-            error -> log.error("Health check batch failed: {}", error.getMessage()),
-            () -> log.debug("All health checks completed")
-        );
-    }
+    private final TrafficShifter trafficShifter;
 
     @Scheduled(fixedRateString = "#{${gateway.self-healing.prediction.prediction-interval-seconds:60} * 1000}")
     public void performFailurePrediction() {
@@ -56,6 +38,8 @@ public class HealthCheckScheduler {
                 if (prediction.isActionRequired()) {
                     log.warn("Prediction alert for service {}: {} (risk: {})", prediction.getServiceId(), prediction.getReason(), String.format("%.2f", prediction.getRiskScore()));
                     triggerPreventiveActions(service, prediction);
+                } else {
+                    trafficShifter.apply(service, prediction);
                 }
             })
         ).subscribe(
@@ -65,7 +49,26 @@ public class HealthCheckScheduler {
         );
     }
 
+    @Scheduled(fixedDelayString = "${gateway.prediction.snapshot-interval-millis:60000}")
+    public void persistPredictionState() {
+        predictionEngine.saveSnapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.prediction.training-interval-millis:1000}")
+    public void performModelTraining() {
+        if (!gatewayConfig.getPrediction().isEnabled()) {
+            return;
+        }
+
+        try {
+            predictionEngine.trainModels(gatewayConfig.getPrediction().getTrainingBatchSize());
+        } catch (RuntimeException e) {
+            log.error("Prediction model training failed: {}", e.getMessage());
+        }
+    }
+
     private void triggerPreventiveActions(GatewayConfig.ServiceConfig service, FailurePredictionEngine.PredictionResult prediction) {
         log.info("Triggering preventive actions for service: {} (risk: {})", service.getId(), String.format("%.2f", prediction.getRiskScore()));
+        trafficShifter.apply(service, prediction);
     }
 }
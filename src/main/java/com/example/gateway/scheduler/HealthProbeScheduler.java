@@ -0,0 +1,258 @@
+package com.example.gateway.scheduler;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Active health probing with one timer per instance. First probes are spread
+ * uniformly over the interval and every later delay is jittered, so probes never
+ * line up into fleet-wide spikes. At most {@code maxConcurrentProbes} probes are in
+ * flight at once; a probe that finds the cap saturated, or its own previous probe
+ * still running, is skipped rather than queued. Degraded instances are probed at
+ * {@code minIntervalSeconds}, and instances that keep passing back off towards
+ * {@code maxIntervalSeconds}.
+ */
+@Component
+@Slf4j
+public class HealthProbeScheduler implements SmartLifecycle {
+    private final GatewayConfig gatewayConfig;
+    private final HealthMonitor healthMonitor;
+    private final InstanceTelemetryCollector telemetryCollector;
+    private final Scheduler scheduler;
+    private final ConcurrentHashMap<String, ProbeState> probes = new ConcurrentHashMap<>();
+    private final AtomicLong skippedProbes = new AtomicLong();
+    private volatile Semaphore permits = new Semaphore(1);
+    private volatile Predicate<String> probeFilter = instanceId -> true;
+    private volatile boolean running;
+
+    @Autowired
+    public HealthProbeScheduler(GatewayConfig gatewayConfig, HealthMonitor healthMonitor, InstanceTelemetryCollector telemetryCollector) {
+        this(gatewayConfig, healthMonitor, telemetryCollector, Schedulers.parallel());
+    }
+
+    HealthProbeScheduler(GatewayConfig gatewayConfig, HealthMonitor healthMonitor, InstanceTelemetryCollector telemetryCollector, Scheduler scheduler) {
+        this.gatewayConfig = gatewayConfig;
+        this.healthMonitor = healthMonitor;
+        this.telemetryCollector = telemetryCollector;
+        this.scheduler = scheduler;
+        this.healthMonitor.addHealthChangeListener(this::expedite);
+    }
+
+    @Override
+    public synchronized void start() {
+        permits = new Semaphore(Math.max(gatewayConfig.getHealthCheck().getMaxConcurrentProbes(), 1));
+        running = true;
+        reconcile();
+        log.info("Scheduled health probes for {} instances", probes.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        probes.values().forEach(ProbeState::cancel);
+        probes.clear();
+    }
+
+    /**
+     * Aligns the probe timers with the configured instances that pass the probe
+     * filter: removed instances and instances whose URL changed lose their timer, new
+     * ones get a timer at a random offset, and everything else keeps its schedule and
+     * adaptive state.
+     */
+    public synchronized void reconcile() {
+        if (!running) {
+            return;
+        }
+        Map<String, GatewayConfig.ServiceInstance> desired = new LinkedHashMap<>();
+        if (gatewayConfig.getServices() != null) {
+            for (GatewayConfig.ServiceConfig service : gatewayConfig.getServices()) {
+                if (service.getInstances() != null) {
+                    service.getInstances().stream()
+                        .filter(instance -> probeFilter.test(instance.getId()))
+                        .forEach(instance -> desired.putIfAbsent(instance.getId(), instance));
+                }
+            }
+        }
+
+        probes.entrySet().removeIf(entry -> {
+            GatewayConfig.ServiceInstance instance = desired.get(entry.getKey());
+            if (instance == null || !Objects.equals(instance.getUrl(), entry.getValue().instance.getUrl())) {
+                entry.getValue().cancel();
+                return true;
+            }
+            entry.getValue().instance = instance;
+            return false;
+        });
+
+        long intervalMillis = TimeUnit.SECONDS.toMillis(Math.max(gatewayConfig.getHealthCheck().getIntervalSeconds(), 1));
+        for (GatewayConfig.ServiceInstance instance : desired.values()) {
+            if (!probes.containsKey(instance.getId())) {
+                ProbeState state = new ProbeState(instance);
+                probes.put(instance.getId(), state);
+                reschedule(state, ThreadLocalRandom.current().nextLong(intervalMillis));
+            }
+        }
+    }
+
+    /**
+     * Restricts probing to the instances the filter accepts, such as the shard this
+     * replica owns, and realigns the timers right away.
+     */
+    public void setProbeFilter(Predicate<String> probeFilter) {
+        this.probeFilter = probeFilter;
+        reconcile();
+    }
+
+    public boolean isProbing(String instanceId) {
+        return probes.containsKey(instanceId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getSkippedProbes() {
+        return skippedProbes.get();
+    }
+
+    /**
+     * Delay before the next probe of an instance, without jitter. Degraded instances
+     * are probed at the minimum interval; every {@code stableChecksBeforeBackoff}
+     * consecutive passes double the delay up to the maximum interval.
+     */
+    long intervalMillis(boolean degraded, int stableChecks) {
+        GatewayConfig.HealthCheckConfig config = gatewayConfig.getHealthCheck();
+        int interval = Math.max(config.getIntervalSeconds(), 1);
+        if (degraded) {
+            return TimeUnit.SECONDS.toMillis(Math.max(Math.min(config.getMinIntervalSeconds(), interval), 1));
+        }
+        int steps = Math.min(stableChecks / Math.max(config.getStableChecksBeforeBackoff(), 1), 20);
+        long backedOff = (long) interval << steps;
+        return TimeUnit.SECONDS.toMillis(Math.min(backedOff, Math.max(config.getMaxIntervalSeconds(), interval)));
+    }
+
+    private long jittered(long delayMillis) {
+        double jitter = Math.min(Math.max(gatewayConfig.getHealthCheck().getJitterPercent(), 0), 100) / 100.0;
+        if (jitter == 0) {
+            return delayMillis;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.max((long) (delayMillis * factor), 1);
+    }
+
+    private void probe(ProbeState state) {
+        synchronized (state) {
+            if (!running || state.cancelled || !state.inFlight.compareAndSet(false, true)) {
+                return;
+            }
+            if (!permits.tryAcquire()) {
+                state.inFlight.set(false);
+                skippedProbes.incrementAndGet();
+                log.debug("Probe concurrency limit reached, skipping probe of instance: {}", state.instance.getId());
+                reschedule(state, jittered(intervalMillis(state.degraded, state.stableChecks)));
+                return;
+            }
+        }
+
+        GatewayConfig.HealthCheckConfig config = gatewayConfig.getHealthCheck();
+        GatewayConfig.ServiceInstance instance = state.instance;
+        healthMonitor.checkHealth(instance.getId(), instance.getUrl(), config.getHealthEndpoint()).flatMap(health -> {
+            if (!health.isHealthy() || health.getConsecutiveFailure().get() > 0 || !config.isCollectTelemetry()) {
+                return Mono.just(health);
+            }
+            return telemetryCollector.collect(healthMonitor.getProbeClient(), instance, config.getMetricsEndpoint(), Duration.ofSeconds(config.getTimeoutSeconds())).onErrorResume(error -> {
+                log.debug("Telemetry scrape failed for instance: {} - {}", instance.getId(), error.getMessage());
+                return Mono.empty();
+            }).thenReturn(health);
+        }).doFinally(signal -> {
+            permits.release();
+            synchronized (state) {
+                state.inFlight.set(false);
+                reschedule(state, jittered(intervalMillis(state.degraded, state.stableChecks)));
+            }
+        }).subscribe(health -> {
+            boolean failing = health.getConsecutiveFailure().get() > 0;
+            state.stableChecks = failing ? 0 : state.stableChecks + 1;
+            state.degraded = failing || !healthMonitor.isServiceHealthy(instance.getId());
+        }, error -> {
+            log.error("Health probe failed for instance: {} - {}", instance.getId(), error.getMessage());
+            state.stableChecks = 0;
+            state.degraded = true;
+        });
+    }
+
+    /**
+     * Pulls the next probe of an instance forward when its health changes for another
+     * reason, such as an outlier ejection, so that recovery is noticed quickly.
+     */
+    private void expedite(String instanceId) {
+        ProbeState state = probes.get(instanceId);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            if (state.inFlight.get()) {
+                return;
+            }
+            state.degraded = true;
+            state.stableChecks = 0;
+            reschedule(state, jittered(intervalMillis(true, 0)));
+        }
+    }
+
+    private void reschedule(ProbeState state, long delayMillis) {
+        synchronized (state) {
+            if (!running || state.cancelled) {
+                return;
+            }
+            if (state.timer != null) {
+                state.timer.dispose();
+            }
+            state.timer = scheduler.schedule(() -> probe(state), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static final class ProbeState {
+        private volatile GatewayConfig.ServiceInstance instance;
+        private final AtomicBoolean inFlight = new AtomicBoolean(false);
+        private volatile Disposable timer;
+        private volatile boolean cancelled;
+        private volatile boolean degraded;
+        private volatile int stableChecks;
+
+        private ProbeState(GatewayConfig.ServiceInstance instance) {
+            this.instance = instance;
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if (timer != null) {
+                timer.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.gateway.scheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.routing.ServiceConfigReloader;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches {@code gateway.reload.file} and applies its {@code gateway.services} list
+ * whenever the file changes. The file uses the same properties or YAML layout as the
+ * application configuration.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceConfigWatcher {
+    private final GatewayConfig gatewayConfig;
+    private final ServiceConfigReloader reloader;
+    private volatile long lastModified = -1;
+    private volatile long lastSize = -1;
+
+    @Scheduled(fixedDelayString = "${gateway.reload.poll-interval-millis:2000}")
+    public void poll() {
+        Path file = configuredFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (modified == lastModified && attributes.size() == lastSize) {
+                return;
+            }
+            lastModified = modified;
+            lastSize = attributes.size();
+            reload();
+        } catch (IOException | RuntimeException e) {
+            log.error("Reloading services from {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the watched file and applies it right away. Fails if no file is configured
+     * or if the file does not describe a valid service list.
+     */
+    public ServiceConfigReloader.ReloadResult reload() throws IOException {
+        Path file = configuredFile();
+        if (file == null) {
+            throw new IllegalStateException("No reload file configured (gateway.reload.file)");
+        }
+        String name = file.getFileName().toString();
+        PropertySourceLoader loader = name.endsWith(".yml") || name.endsWith(".yaml") ? new YamlPropertySourceLoader() : new PropertiesPropertySourceLoader();
+        List<PropertySource<?>> sources = loader.load(name, new FileSystemResource(file));
+        List<GatewayConfig.ServiceConfig> services = new Binder(ConfigurationPropertySources.from(sources))
+            .bind("gateway.services", Bindable.listOf(GatewayConfig.ServiceConfig.class))
+            .orElseThrow(() -> new IllegalArgumentException("No gateway.services found in " + file));
+        log.info("Applying {} services from {}", services.size(), file);
+        return reloader.apply(services);
+    }
+
+    private Path configuredFile() {
+        String file = gatewayConfig.getReload().getFile();
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.gateway.telemetry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Live load of one upstream instance as seen from inside the gateway: requests in
+ * flight and an exponentially weighted moving average of response latency. The
+ * average decays towards zero while an instance receives no samples, so an instance
+ * that was slow is eventually probed again instead of being starved forever.
+ */
+public class InstanceLoad {
+    private static final double EWMA_ALPHA = 0.3;
+    private static final double DECAY_TIME_CONSTANT_NANOS = 10_000_000_000.0;
+
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicLong ewmaLatencyBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private volatile long lastSampleNanos;
+
+    public InstanceLoad() {
+        this(System::nanoTime);
+    }
+
+    /** @param nanoClock source of {@link System#nanoTime()}-style timestamps for the decay */
+    public InstanceLoad(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.lastSampleNanos = nanoClock.getAsLong();
+    }
+
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void requestFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public void recordLatency(long latencyNanos) {
+        long now = nanoClock.getAsLong();
+        long current;
+        long updated;
+        do {
+            current = ewmaLatencyBits.get();
+            double ewma = decayed(Double.longBitsToDouble(current), now);
+            updated = Double.doubleToRawLongBits(ewma == 0.0 ? latencyNanos : ewma + EWMA_ALPHA * (latencyNanos - ewma));
+        } while (!ewmaLatencyBits.compareAndSet(current, updated));
+        lastSampleNanos = now;
+    }
+
+    public double getEwmaLatencyNanos() {
+        return decayed(Double.longBitsToDouble(ewmaLatencyBits.get()), nanoClock.getAsLong());
+    }
+
+    /**
+     * Expected cost of sending one more request here: average latency scaled by the
+     * queue the request would join.
+     */
+    public double cost() {
+        return Math.max(getEwmaLatencyNanos(), 1.0) * (inFlight.get() + 1);
+    }
+
+    private double decayed(double ewma, long now) {
+        long idle = now - lastSampleNanos;
+        return idle <= 0 ? ewma : ewma * Math.exp(-idle / DECAY_TIME_CONSTANT_NANOS);
+    }
+}
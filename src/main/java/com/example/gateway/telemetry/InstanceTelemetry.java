@@ -0,0 +1,15 @@
+package com.example.gateway.telemetry;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class InstanceTelemetry {
+    public static final InstanceTelemetry UNKNOWN = new InstanceTelemetry(null, 0.0, 0.0, null);
+
+    private final String instanceId;
+    private final double cpuUsage;
+    private final double memoryUsage;
+    private final LocalDateTime collectedAt;
+}
@@ -0,0 +1,103 @@
+package com.example.gateway.telemetry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.gateway.config.GatewayConfig;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Component
+@Slf4j
+public class InstanceTelemetryCollector {
+    static final String CPU_METRIC = "/process.cpu.usage";
+    static final String MEMORY_USED_METRIC = "/jvm.memory.used?tag=area:heap";
+    static final String MEMORY_MAX_METRIC = "/jvm.memory.max?tag=area:heap";
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient webClient;
+    private final ConcurrentHashMap<String, InstanceTelemetry> telemetryMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, InstanceLoad> loadMap = new ConcurrentHashMap<>();
+
+    public InstanceTelemetryCollector(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.build();
+    }
+
+    public Mono<InstanceTelemetry> collect(GatewayConfig.ServiceInstance instance, String metricsEndpoint) {
+        return collect(webClient, instance, metricsEndpoint, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Scrapes an instance through the given client. A scrape that has not completed
+     * within {@code timeout} counts as failed, so an endpoint that accepts the
+     * connection but never answers cannot hold the caller.
+     */
+    public Mono<InstanceTelemetry> collect(WebClient client, GatewayConfig.ServiceInstance instance, String metricsEndpoint, Duration timeout) {
+        String baseUrl = instance.getUrl() + metricsEndpoint;
+
+        return Mono.zip(fetchMetric(client, baseUrl + CPU_METRIC), fetchMetric(client, baseUrl + MEMORY_USED_METRIC), fetchMetric(client, baseUrl + MEMORY_MAX_METRIC))
+            .timeout(timeout)
+            .map(values -> {
+                double memoryMax = values.getT3();
+                double memoryUsage = memoryMax > 0 ? values.getT2() / memoryMax : 0.0;
+                InstanceTelemetry telemetry = new InstanceTelemetry(instance.getId(), values.getT1(), memoryUsage, LocalDateTime.now());
+                telemetryMap.put(instance.getId(), telemetry);
+                log.debug("Collected telemetry for instance: {} (cpu: {}, memory: {})", instance.getId(), telemetry.getCpuUsage(), telemetry.getMemoryUsage());
+                return telemetry;
+            })
+            .onErrorResume(error -> {
+                log.debug("Telemetry collection failed for instance: {} - {}", instance.getId(), error.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    private Mono<Double> fetchMetric(WebClient client, String url) {
+        return client.get()
+            .uri(url)
+            .retrieve()
+            .bodyToMono(MetricResponse.class)
+            .map(MetricResponse::firstValue);
+    }
+
+    public InstanceTelemetry getTelemetry(String instanceId) {
+        if (instanceId == null) {
+            return InstanceTelemetry.UNKNOWN;
+        }
+        InstanceTelemetry telemetry = telemetryMap.get(instanceId);
+        return telemetry != null ? telemetry : InstanceTelemetry.UNKNOWN;
+    }
+
+    public InstanceLoad getLoad(String instanceId) {
+        InstanceLoad load = loadMap.get(instanceId);
+        return load != null ? load : loadMap.computeIfAbsent(instanceId, k -> new InstanceLoad());
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class MetricResponse {
+        private String name;
+        private List<Measurement> measurements;
+
+        double firstValue() {
+            if (measurements == null || measurements.isEmpty() || measurements.get(0).getValue() == null) {
+                return 0.0;
+            }
+            return measurements.get(0).getValue();
+        }
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Measurement {
+        private String statistic;
+        private Double value;
+    }
+}
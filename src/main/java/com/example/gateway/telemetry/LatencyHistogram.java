@@ -0,0 +1,90 @@
+package com.example.gateway.telemetry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram with microsecond resolution: eight linear
+ * sub-buckets per power of two, so any reported percentile is within 12.5% of the
+ * true value. Counts are halved periodically so percentiles follow recent traffic.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong(0);
+    private final AtomicLong lastDecayNanos = new AtomicLong(System.nanoTime());
+    private final long decayIntervalNanos;
+
+    public LatencyHistogram(long decayInterval, TimeUnit unit) {
+        this.decayIntervalNanos = unit.toNanos(decayInterval);
+    }
+
+    public void record(long latencyNanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        counts.incrementAndGet(bucketOf(micros));
+        total.incrementAndGet();
+        maybeDecay();
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    /**
+     * Upper bound, in nanoseconds, of the bucket holding the given percentile; zero
+     * when nothing has been recorded.
+     */
+    public long percentile(double percentile) {
+        long count = total.get();
+        if (count <= 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return TimeUnit.MICROSECONDS.toNanos(upperBoundOf(i));
+            }
+        }
+        return TimeUnit.MICROSECONDS.toNanos(upperBoundOf(BUCKETS - 1));
+    }
+
+    private void maybeDecay() {
+        long last = lastDecayNanos.get();
+        long now = System.nanoTime();
+        if (now - last < decayIntervalNanos || !lastDecayNanos.compareAndSet(last, now)) {
+            return;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            long half = counts.get(i) >>> 1;
+            if (half > 0) {
+                counts.addAndGet(i, -half);
+                total.addAndGet(-half);
+            }
+        }
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.gateway.cache;
+
+import com.example.gateway.config.GatewayConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private GatewayConfig.CacheConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new GatewayConfig.CacheConfig();
+        config.setTtlSeconds(10);
+        config.setStaleWhileRevalidateSeconds(20);
+        config.setStaleIfErrorSeconds(60);
+    }
+
+    private ResponseCache newCache() {
+        return new ResponseCache(config, clock::get);
+    }
+
+    private static CacheKey key(String path) {
+        return new CacheKey("GET", path, "", List.of("application/json"));
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void shouldMoveThroughFreshnessWindows() {
+        ResponseCache cache = newCache();
+        cache.put(key("/a"), 200, new HttpHeaders(), new byte[]{1, 2, 3});
+        CachedResponse cached = cache.get(key("/a"));
+
+        assertThat(cache.freshness(cached)).isEqualTo(ResponseCache.Freshness.FRESH);
+        advanceSeconds(15);
+        assertThat(cache.freshness(cached)).isEqualTo(ResponseCache.Freshness.STALE_WHILE_REVALIDATE);
+        advanceSeconds(30);
+        assertThat(cache.freshness(cached)).isEqualTo(ResponseCache.Freshness.STALE_IF_ERROR);
+        advanceSeconds(30);
+        assertThat(cache.freshness(cached)).isEqualTo(ResponseCache.Freshness.EXPIRED);
+    }
+
+    @Test
+    void shouldStayWithinByteBudget() {
+        config.setMaxSizeBytes(64 * 1024);
+        config.setMaxEntryBytes(8 * 1024);
+        ResponseCache cache = newCache();
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(key("/item/" + i), 200, new HttpHeaders(), new byte[4 * 1024]);
+        }
+        cache.cleanUp();
+
+        assertThat(cache.weightedSize()).isLessThanOrEqualTo(64 * 1024);
+        assertThat(cache.estimatedSize()).isLessThan(100);
+    }
+
+    @Test
+    void shouldRejectUncacheableResponses() {
+        ResponseCache cache = newCache();
+        HttpHeaders noStore = new HttpHeaders();
+        noStore.setCacheControl("no-store");
+
+        assertThat(cache.accepts(200, new HttpHeaders(), -1)).isTrue();
+        assertThat(cache.accepts(500, new HttpHeaders(), -1)).isFalse();
+        assertThat(cache.accepts(200, noStore, -1)).isFalse();
+        assertThat(cache.accepts(200, new HttpHeaders(), config.getMaxEntryBytes() + 1L)).isFalse();
+    }
+
+    @Test
+    void shouldStoreBodyOffHeapWhenConfigured() {
+        config.setOffHeap(true);
+        ResponseCache cache = newCache();
+        cache.put(key("/off-heap"), 200, new HttpHeaders(), new byte[]{7, 8, 9});
+
+        ByteBuffer body = cache.get(key("/off-heap")).body();
+
+        assertThat(body.isDirect()).isTrue();
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        assertThat(bytes).containsExactly(7, 8, 9);
+    }
+
+    @Test
+    void shouldAllowOneRevalidationPerKey() {
+        ResponseCache cache = newCache();
+
+        assertThat(cache.beginRevalidation(key("/r"))).isTrue();
+        assertThat(cache.beginRevalidation(key("/r"))).isFalse();
+        cache.endRevalidation(key("/r"));
+        assertThat(cache.beginRevalidation(key("/r"))).isTrue();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.gateway.cluster;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.scheduler.HealthProbeScheduler;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClusterHealthGossipTest {
+    private static final List<String> NODES = List.of("gateway-a", "gateway-b", "gateway-c");
+
+    private final Map<String, Consumer<GossipMessage>> network = new ConcurrentHashMap<>();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (String nodeId : NODES) {
+            nodes.add(new Node(nodeId));
+        }
+        nodes.forEach(node -> node.gossip.start());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(node -> node.gossip.stop());
+    }
+
+    @Test
+    void shouldShardProbingAcrossLiveReplicas() throws InterruptedException {
+        await(() -> nodes.stream().allMatch(node -> node.gossip.getMembers().size() == 3));
+
+        for (String instanceId : instanceIds()) {
+            assertThat(nodes.stream().filter(node -> node.gossip.owns(instanceId)).count()).as(instanceId).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldSpreadProbeResultsToEveryReplica() throws InterruptedException {
+        await(() -> nodes.stream().allMatch(node -> node.gossip.getMembers().size() == 3));
+        Node owner = nodes.stream().filter(node -> node.gossip.owns("users-1")).findFirst().orElseThrow();
+
+        long start = System.nanoTime();
+        owner.healthMonitor.checkHealth("users-1", "http://127.0.0.1:1", "/health").block(Duration.ofSeconds(5));
+        await(() -> nodes.stream().allMatch(node -> node.healthMonitor.getServiceHealth("users-1") != null && !node.healthMonitor.getServiceHealth("users-1").isHealthy()));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        nodes.forEach(node -> assertThat(node.healthMonitor.isServiceHealthy("users-1")).isFalse());
+    }
+
+    @Test
+    void shouldTakeOverShardOfSilentReplica() throws InterruptedException {
+        await(() -> nodes.stream().allMatch(node -> node.gossip.getMembers().size() == 3));
+        Node crashed = nodes.remove(2);
+        crashed.gossip.stop();
+
+        await(() -> nodes.stream().allMatch(node -> node.gossip.getMembers().size() == 2));
+
+        for (String instanceId : instanceIds()) {
+            assertThat(nodes.stream().filter(node -> node.gossip.owns(instanceId)).count()).as(instanceId).isEqualTo(1);
+        }
+    }
+
+    private static List<String> instanceIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            ids.add("users-" + i);
+        }
+        return ids;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private final class Node {
+        private final HealthMonitor healthMonitor;
+        private final ClusterHealthGossip gossip;
+
+        private Node(String nodeId) {
+            GatewayConfig config = new GatewayConfig();
+            GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+            service.setId("users");
+            service.setPath("/api/users/**");
+            List<GatewayConfig.ServiceInstance> instances = new ArrayList<>();
+            for (String instanceId : instanceIds()) {
+                GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+                instance.setId(instanceId);
+                instance.setUrl("http://127.0.0.1:1");
+                instances.add(instance);
+            }
+            service.setInstances(instances);
+            config.setServices(List.of(service));
+            config.getHealthCheck().setRetryCount(1);
+            config.getHealthCheck().setTimeoutSeconds(1);
+
+            GatewayConfig.ClusterConfig cluster = config.getCluster();
+            cluster.setEnabled(true);
+            cluster.setNodeId(nodeId);
+            cluster.setGossipIntervalMillis(50);
+            cluster.setFailureTimeoutMillis(300);
+            List<GatewayConfig.PeerConfig> peers = new ArrayList<>();
+            for (String peerId : NODES) {
+                GatewayConfig.PeerConfig peer = new GatewayConfig.PeerConfig();
+                peer.setId(peerId);
+                peers.add(peer);
+            }
+            cluster.setPeers(peers);
+
+            healthMonitor = new HealthMonitor(WebClient.builder(), config);
+            HealthProbeScheduler probeScheduler = new HealthProbeScheduler(config, healthMonitor, new InstanceTelemetryCollector(WebClient.builder()));
+            gossip = new ClusterHealthGossip(config, healthMonitor, probeScheduler, new StaticPeerDiscovery(config), new LoopbackGossipTransport(network));
+        }
+    }
+}
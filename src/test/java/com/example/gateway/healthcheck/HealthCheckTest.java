@@ -1,6 +1,9 @@
 package com.example.gateway.healthcheck;
 
+import com.example.gateway.config.GatewayConfig;
 import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.health.HealthSnapshot;
+import com.example.gateway.health.HealthTransitionEvent;
 
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -12,6 +15,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,7 +32,7 @@ public class HealthCheckTest {
         mockWebServer = new MockWebServer();
         mockWebServer.start();
         WebClient.Builder webClientBuilder = WebClient.builder().baseUrl(mockWebServer.url("/").toString());
-        healthMonitor = new HealthMonitor(webClientBuilder);
+        healthMonitor = new HealthMonitor(webClientBuilder, new GatewayConfig());
     }
 
     @AfterEach
@@ -99,4 +106,81 @@ public class HealthCheckTest {
         assertThat(storedHealth.isHealthy()).isFalse();
         assertThat(storedHealth.getFailureCount().get()).isEqualTo(3L);
     }
+
+    @Test
+    void shouldRecordFailureWhenProbeExceedsTimeout() {
+        GatewayConfig gatewayConfig = new GatewayConfig();
+        gatewayConfig.getHealthCheck().setTimeoutSeconds(1);
+        HealthMonitor monitor = new HealthMonitor(WebClient.builder().baseUrl(mockWebServer.url("/").toString()), gatewayConfig);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setHeadersDelay(3, TimeUnit.SECONDS));
+
+        StepVerifier.create(monitor.checkHealth("test-service-4", "/service-url", "/health-endpoint")).assertNext(health -> {
+            assertThat(health.getSuccessCount().get()).isEqualTo(0L);
+            assertThat(health.getFailureCount().get()).isEqualTo(1L);
+        }).expectComplete().verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldHonourConfiguredRetryCount() {
+        GatewayConfig gatewayConfig = new GatewayConfig();
+        gatewayConfig.getHealthCheck().setRetryCount(1);
+        HealthMonitor monitor = new HealthMonitor(WebClient.builder().baseUrl(mockWebServer.url("/").toString()), gatewayConfig);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        StepVerifier.create(monitor.checkHealth("test-service-5", "/service-url", "/health-endpoint")).expectNextMatches(health -> !health.isHealthy()).verifyComplete();
+        assertThat(monitor.isServiceHealthy("test-service-5")).isFalse();
+    }
+
+    @Test
+    void shouldPublishTransitionsIntoVersionedSnapshot() {
+        GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+        instance.setId("snapshot-instance");
+        GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+        service.setId("snapshot-service");
+        service.setInstances(List.of(instance));
+        GatewayConfig gatewayConfig = new GatewayConfig();
+        gatewayConfig.setServices(List.of(service));
+        gatewayConfig.getHealthCheck().setRetryCount(2);
+        HealthMonitor monitor = new HealthMonitor(WebClient.builder().baseUrl(mockWebServer.url("/").toString()), gatewayConfig);
+        List<HealthTransitionEvent> events = new CopyOnWriteArrayList<>();
+        monitor.addHealthTransitionListener(events::add);
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        for (int i = 0; i < 4; i++) {
+            monitor.checkHealth("snapshot-instance", "/service-url", "/health-endpoint").block();
+        }
+
+        assertThat(events).extracting(HealthTransitionEvent::healthy).containsExactly(true, false);
+        assertThat(events).extracting(HealthTransitionEvent::serviceId).containsOnly("snapshot-service");
+        assertThat(events).extracting(HealthTransitionEvent::version).containsExactly(1L, 2L);
+
+        HealthSnapshot snapshot = monitor.snapshot("snapshot-service");
+        assertThat(snapshot.getVersion()).as("Probes that do not flip health leave the snapshot untouched").isEqualTo(2L);
+        assertThat(snapshot.isHealthy("snapshot-instance")).isFalse();
+        assertThat(monitor.isServiceHealthy("snapshot-instance")).isFalse();
+    }
+
+    @Test
+    void shouldNotPinUnknownInstancesToStaleServices() {
+        GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+        service.setId("late-service");
+        service.setInstances(new ArrayList<>());
+        GatewayConfig gatewayConfig = new GatewayConfig();
+        gatewayConfig.setServices(List.of(service));
+        HealthMonitor monitor = new HealthMonitor(WebClient.builder().baseUrl(mockWebServer.url("/").toString()), gatewayConfig);
+
+        assertThat(monitor.isServiceHealthy("late-instance")).isFalse();
+
+        GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+        instance.setId("late-instance");
+        service.getInstances().add(instance);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        monitor.checkHealth("late-instance", "/service-url", "/health-endpoint").block();
+
+        assertThat(monitor.snapshot("late-service").isHealthy("late-instance")).isTrue();
+        assertThat(monitor.snapshot("late-instance").isKnown("late-instance")).isFalse();
+    }
 }
@@ -0,0 +1,131 @@
+package com.example.gateway.healthcheck;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.OutlierDetector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutlierDetectorTest {
+    private GatewayConfig.OutlierDetectionConfig config;
+    private List<String> notifications;
+    private OutlierDetector outlierDetector;
+
+    @BeforeEach
+    void setUp() {
+        config = new GatewayConfig.OutlierDetectionConfig();
+        config.setConsecutiveFailures(5);
+        config.setBaseEjectionMillis(200);
+        config.setMaxEjectionMillis(10_000);
+        config.setMaxEjectionPercent(50);
+        notifications = new CopyOnWriteArrayList<>();
+        outlierDetector = new OutlierDetector(config, notifications::add);
+    }
+
+    private GatewayConfig.ServiceConfig createService(int instanceCount) {
+        List<GatewayConfig.ServiceInstance> instances = new ArrayList<>();
+        for (int i = 1; i <= instanceCount; i++) {
+            GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+            instance.setId("i" + i);
+            instance.setUrl("http://instance" + i + ":8080");
+            instances.add(instance);
+        }
+        GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+        service.setId("outlier-service");
+        service.setInstances(instances);
+        return service;
+    }
+
+    @Test
+    void shouldEjectAfterConsecutiveFailures() {
+        GatewayConfig.ServiceConfig service = createService(4);
+
+        for (int i = 0; i < 4; i++) {
+            outlierDetector.recordOutcome(service, "i1", false, 10);
+        }
+        assertThat(outlierDetector.isEjected("i1")).isFalse();
+
+        outlierDetector.recordOutcome(service, "i1", false, 10);
+
+        assertThat(outlierDetector.isEjected("i1")).isTrue();
+        assertThat(notifications).containsExactly("i1");
+    }
+
+    @Test
+    void shouldTreatSlowCallsAsFailures() {
+        GatewayConfig.ServiceConfig service = createService(4);
+        config.setSlowCallThresholdMillis(100);
+
+        for (int i = 0; i < 5; i++) {
+            outlierDetector.recordOutcome(service, "i2", true, 500);
+        }
+
+        assertThat(outlierDetector.isEjected("i2")).isTrue();
+    }
+
+    @Test
+    void shouldRespectMaxEjectionPercent() {
+        GatewayConfig.ServiceConfig service = createService(2);
+
+        for (int i = 0; i < 5; i++) {
+            outlierDetector.recordOutcome(service, "i1", false, 10);
+            outlierDetector.recordOutcome(service, "i2", false, 10);
+        }
+
+        assertThat(outlierDetector.isEjected("i1")).isTrue();
+        assertThat(outlierDetector.isEjected("i2")).as("Ejecting the second instance would exceed 50%").isFalse();
+    }
+
+    @Test
+    void shouldReturnInstanceAndBackOffExponentially() throws InterruptedException {
+        GatewayConfig.ServiceConfig service = createService(4);
+
+        for (int i = 0; i < 5; i++) {
+            outlierDetector.recordOutcome(service, "i3", false, 10);
+        }
+        assertThat(outlierDetector.isEjected("i3")).isTrue();
+
+        Thread.sleep(300);
+        assertThat(outlierDetector.isEjected("i3")).isFalse();
+
+        for (int i = 0; i < 5; i++) {
+            outlierDetector.recordOutcome(service, "i3", false, 10);
+        }
+        assertThat(outlierDetector.getEjectionCount("i3")).isEqualTo(2);
+
+        Thread.sleep(300);
+        assertThat(outlierDetector.isEjected("i3")).as("Second ejection lasts twice as long").isTrue();
+    }
+
+    @Test
+    void staleReadmissionShouldNotClearANewerEjection() throws InterruptedException {
+        VirtualTimeScheduler virtualTime = VirtualTimeScheduler.getOrSet();
+        try {
+            OutlierDetector detector = new OutlierDetector(config, notifications::add);
+            GatewayConfig.ServiceConfig service = createService(4);
+
+            for (int i = 0; i < 5; i++) {
+                detector.recordOutcome(service, "i4", false, 10);
+            }
+            Thread.sleep(250);
+            assertThat(detector.isEjected("i4")).as("First ejection has expired, its timer has not fired yet").isFalse();
+
+            for (int i = 0; i < 5; i++) {
+                detector.recordOutcome(service, "i4", false, 10);
+            }
+            virtualTime.advanceTimeBy(Duration.ofMillis(200));
+
+            assertThat(detector.isEjected("i4")).as("First timer fires late, during the second ejection").isTrue();
+        } finally {
+            VirtualTimeScheduler.reset();
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.gateway.load;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load and failover harness. Boots the gateway against MockWebServer
+ * upstreams, drives concurrent load through the user and order routes, injects a
+ * fault into one user-service instance and reports throughput, latency percentiles
+ * and time-to-failover for every {@link GatewayConfig.FallbackStrategy}, and tail
+ * latency with one slow instance for every {@link GatewayConfig.LoadBalancingMode}.
+ *
+ * <pre>
+ * ./mvnw test -Dtest=FailoverLoadHarnessTest -Dgateway.load-test=true \
+ *     -Dgateway.load-test.duration-seconds=10 -Dgateway.load-test.concurrency=64
+ * </pre>
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "gateway.load-test", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class FailoverLoadHarnessTest {
+    private static final int DURATION_SECONDS = Integer.getInteger("gateway.load-test.duration-seconds", 6);
+    private static final int CONCURRENCY = Integer.getInteger("gateway.load-test.concurrency", 32);
+    private static final long SLOW_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static final UpstreamInstance[] USER_INSTANCES = {new UpstreamInstance("user-service-1"), new UpstreamInstance("user-service-2"), new UpstreamInstance("user-service-3")};
+    private static final UpstreamInstance[] ORDER_INSTANCES = {new UpstreamInstance("order-service-1"), new UpstreamInstance("order-service-2")};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GatewayConfig gatewayConfig;
+
+    @Autowired
+    private HealthMonitor healthMonitor;
+
+    @DynamicPropertySource
+    static void upstreams(DynamicPropertyRegistry registry) throws IOException {
+        registerService(registry, 0, "user-service", "/api/users/**", USER_INSTANCES);
+        registerService(registry, 1, "order-service", "/api/orders/**", ORDER_INSTANCES);
+        registry.add("gateway.health-check.interval-seconds", () -> "1");
+        registry.add("gateway.health-check.timeout-seconds", () -> "1");
+        registry.add("gateway.health-check.health-endpoint", () -> "/actuator/health");
+    }
+
+    private static void registerService(DynamicPropertyRegistry registry, int index, String id, String path, UpstreamInstance[] instances) throws IOException {
+        String prefix = "gateway.services[" + index + "].";
+        registry.add(prefix + "id", () -> id);
+        registry.add(prefix + "name", () -> id);
+        registry.add(prefix + "path", () -> path);
+        registry.add(prefix + "fallback-strategy", () -> "FAILOVER_INSTANCE");
+        registry.add(prefix + "priority", () -> String.valueOf(index + 1));
+        for (int i = 0; i < instances.length; i++) {
+            instances[i].start();
+            String url = instances[i].url();
+            registry.add(prefix + "instances[" + i + "].id", instances[i]::getId);
+            registry.add(prefix + "instances[" + i + "].url", () -> url);
+            registry.add(prefix + "instances[" + i + "].weight", () -> "100");
+        }
+    }
+
+    @AfterAll
+    static void shutdownUpstreams() {
+        Arrays.stream(USER_INSTANCES).forEach(UpstreamInstance::kill);
+        Arrays.stream(ORDER_INSTANCES).forEach(UpstreamInstance::kill);
+    }
+
+    @Test
+    void reportFailoverCostPerStrategy() throws Exception {
+        WebClient client = WebClient.builder().baseUrl("http://localhost:" + port).build();
+        GatewayConfig.ServiceConfig userService = gatewayConfig.getServices().get(0);
+        List<RunReport> reports = new ArrayList<>();
+
+        awaitAllHealthy();
+        reports.add(runScenario(client, "baseline", Fault.NONE));
+
+        for (GatewayConfig.FallbackStrategy strategy : GatewayConfig.FallbackStrategy.values()) {
+            userService.setFallbackStrategy(strategy);
+            for (Fault fault : new Fault[]{Fault.KILLED, Fault.SLOW, Fault.INTERMITTENT_5XX}) {
+                reports.add(runScenario(client, strategy.name(), fault));
+                USER_INSTANCES[0].restore();
+                awaitAllHealthy();
+            }
+        }
+
+        System.out.println(RunReport.HEADER);
+        reports.forEach(report -> System.out.println(report.format()));
+
+        assertThat(reports).allSatisfy(report -> assertThat(report.throughput()).isPositive());
+    }
+
+    @Test
+    void reportTailLatencyPerBalancingMode() throws Exception {
+        WebClient client = WebClient.builder().baseUrl("http://localhost:" + port).build();
+        GatewayConfig.ServiceConfig userService = gatewayConfig.getServices().get(0);
+        GatewayConfig.FallbackStrategy originalStrategy = userService.getFallbackStrategy();
+        boolean hedgingEnabled = userService.getHedging().isEnabled();
+        List<RunReport> reports = new ArrayList<>();
+
+        userService.setFallbackStrategy(GatewayConfig.FallbackStrategy.FAILOVER_INSTANCE);
+        userService.getHedging().setEnabled(false);
+        try {
+            for (GatewayConfig.LoadBalancingMode mode : GatewayConfig.LoadBalancingMode.values()) {
+                userService.setLoadBalancingMode(mode);
+                awaitAllHealthy();
+                reports.add(runScenario(client, mode.name(), Fault.SLOW));
+                USER_INSTANCES[0].restore();
+            }
+        } finally {
+            userService.setLoadBalancingMode(GatewayConfig.LoadBalancingMode.WEIGHTED_RANDOM);
+            userService.setFallbackStrategy(originalStrategy);
+            userService.getHedging().setEnabled(hedgingEnabled);
+        }
+
+        System.out.println(RunReport.HEADER.replaceFirst("strategy", "mode    "));
+        reports.forEach(report -> System.out.println(report.format()));
+
+        RunReport weightedRandom = reports.get(GatewayConfig.LoadBalancingMode.WEIGHTED_RANDOM.ordinal());
+        RunReport leastLoaded = reports.get(GatewayConfig.LoadBalancingMode.LEAST_LOADED.ordinal());
+        assertThat(leastLoaded.recorder().percentile(0.99)).isLessThan(weightedRandom.recorder().percentile(0.99));
+    }
+
+    private RunReport runScenario(WebClient client, String strategy, Fault fault) {
+        LatencyRecorder recorder = new LatencyRecorder(DURATION_SECONDS * CONCURRENCY * 2_000);
+        long injectAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS) / 3;
+        AtomicInteger sequence = new AtomicInteger();
+
+        Mono<Void> faultInjection = Mono.delay(Duration.ofNanos(injectAt - System.nanoTime()))
+            .doOnNext(tick -> USER_INSTANCES[0].inject(fault))
+            .then();
+
+        long started = System.nanoTime();
+        Flux.range(0, Integer.MAX_VALUE)
+            .flatMap(i -> {
+                String path = (sequence.getAndIncrement() & 1) == 0 ? "/api/users/" + i : "/api/orders/" + i;
+                long requestStart = System.nanoTime();
+                return client.get().uri(path).retrieve().toBodilessEntity()
+                    .map(response -> true)
+                    .onErrorResume(error -> Mono.just(false))
+                    .doOnNext(success -> recorder.record(requestStart, System.nanoTime(), success));
+            }, CONCURRENCY)
+            .take(Duration.ofSeconds(DURATION_SECONDS))
+            .mergeWith(faultInjection.then(Mono.<Boolean>empty()))
+            .blockLast(Duration.ofSeconds(DURATION_SECONDS + 30L));
+        long elapsed = System.nanoTime() - started;
+
+        return new RunReport(strategy, fault, recorder, elapsed, fault == Fault.NONE ? -1 : recorder.timeToFailover(injectAt, SLOW_THRESHOLD_NANOS));
+    }
+
+    private void awaitAllHealthy() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            boolean allHealthy = gatewayConfig.getServices().stream()
+                .flatMap(service -> service.getInstances().stream())
+                .allMatch(instance -> healthMonitor.isServiceHealthy(instance.getId()));
+            if (allHealthy) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Upstreams did not become healthy in time");
+    }
+
+    enum Fault {
+        NONE,
+        KILLED,
+        SLOW,
+        INTERMITTENT_5XX
+    }
+
+    static class UpstreamInstance {
+        private final String id;
+        private volatile MockWebServer server;
+        private volatile Fault fault = Fault.NONE;
+        private int port;
+
+        UpstreamInstance(String id) {
+            this.id = id;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        void start() throws IOException {
+            server = new MockWebServer();
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    if (request.getPath() != null && request.getPath().startsWith("/actuator/health")) {
+                        return new MockResponse().setResponseCode(200).setBody("{\"status\":\"UP\"}");
+                    }
+                    MockResponse response = new MockResponse().setResponseCode(200).setBody("{\"instance\":\"" + id + "\"}");
+                    if (fault == Fault.SLOW) {
+                        response.setHeadersDelay(500, TimeUnit.MILLISECONDS);
+                    } else if (fault == Fault.INTERMITTENT_5XX && ThreadLocalRandom.current().nextInt(4) == 0) {
+                        response.setResponseCode(503);
+                    }
+                    return response;
+                }
+            });
+            server.start(port);
+            port = server.getPort();
+        }
+
+        String url() {
+            return "http://localhost:" + port;
+        }
+
+        void inject(Fault injected) {
+            if (injected == Fault.KILLED) {
+                kill();
+            } else {
+                fault = injected;
+            }
+        }
+
+        void restore() throws IOException {
+            fault = Fault.NONE;
+            if (server == null) {
+                start();
+            }
+        }
+
+        void kill() {
+            MockWebServer running = server;
+            server = null;
+            if (running != null) {
+                try {
+                    running.shutdown();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    static class LatencyRecorder {
+        private final long[] completedAt;
+        private final long[] latencies;
+        private final boolean[] successes;
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+
+        LatencyRecorder(int capacity) {
+            this.completedAt = new long[capacity];
+            this.latencies = new long[capacity];
+            this.successes = new boolean[capacity];
+        }
+
+        void record(long start, long end, boolean success) {
+            int index = count.getAndIncrement();
+            if (index >= latencies.length) {
+                dropped.incrementAndGet();
+                return;
+            }
+            completedAt[index] = end;
+            latencies[index] = end - start;
+            successes[index] = success;
+        }
+
+        int size() {
+            return Math.min(count.get(), latencies.length);
+        }
+
+        long errors() {
+            long errors = 0;
+            for (int i = 0; i < size(); i++) {
+                if (!successes[i]) {
+                    errors++;
+                }
+            }
+            return errors;
+        }
+
+        long percentile(double percentile) {
+            int size = size();
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+        }
+
+        long timeToFailover(long injectAt, long slowThresholdNanos) {
+            long lastDegraded = injectAt;
+            for (int i = 0; i < size(); i++) {
+                boolean degraded = !successes[i] || latencies[i] > slowThresholdNanos;
+                if (degraded && completedAt[i] > lastDegraded) {
+                    lastDegraded = completedAt[i];
+                }
+            }
+            return lastDegraded - injectAt;
+        }
+    }
+
+    record RunReport(String strategy, Fault fault, LatencyRecorder recorder, long elapsedNanos, long timeToFailoverNanos) {
+        static final String HEADER = String.format("%-20s %-18s %10s %8s %9s %9s %9s %12s", "strategy", "fault", "req/s", "errors", "p50(ms)", "p99(ms)", "p999(ms)", "failover(ms)");
+
+        double throughput() {
+            return recorder.size() / (elapsedNanos / 1e9);
+        }
+
+        String format() {
+            return String.format("%-20s %-18s %10.0f %8d %9.2f %9.2f %9.2f %12s",
+                strategy, fault, throughput(), recorder.errors(),
+                recorder.percentile(0.50) / 1e6, recorder.percentile(0.99) / 1e6, recorder.percentile(0.999) / 1e6,
+                timeToFailoverNanos < 0 ? "-" : String.format("%.0f", timeToFailoverNanos / 1e6));
+        }
+    }
+}
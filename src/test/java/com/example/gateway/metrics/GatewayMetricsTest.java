@@ -0,0 +1,74 @@
+package com.example.gateway.metrics;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GatewayMetricsTest {
+    private SimpleMeterRegistry registry;
+    private InstanceTelemetryCollector telemetryCollector;
+    private GatewayConfig.ServiceConfig service;
+    private GatewayConfig.ServiceInstance instance;
+    private GatewayMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        instance = new GatewayConfig.ServiceInstance();
+        instance.setId("metrics-1");
+        service = new GatewayConfig.ServiceConfig();
+        service.setId("metrics-service");
+        service.setInstances(List.of(instance));
+        GatewayConfig config = new GatewayConfig();
+        config.setServices(List.of(service));
+
+        registry = new SimpleMeterRegistry();
+        telemetryCollector = new InstanceTelemetryCollector(WebClient.builder());
+        metrics = new GatewayMetrics(registry, config, telemetryCollector);
+    }
+
+    @Test
+    void shouldPreRegisterMetersForConfiguredServices() {
+        assertThat(registry.find("gateway.route.requests").tag("route", "metrics-service").timers()).hasSize(2);
+        assertThat(registry.find("gateway.route.fallbacks").tag("route", "metrics-service").counters()).hasSize(GatewayConfig.FallbackStrategy.values().length);
+        assertThat(registry.find("gateway.instance.latency").tag("instance", "metrics-1").timer()).isNotNull();
+        assertThat(registry.find("gateway.instance.inflight").tag("instance", "metrics-1").gauge()).isNotNull();
+    }
+
+    @Test
+    void shouldRecordRouteAndInstanceActivity() {
+        GatewayMetrics.RouteMeters route = metrics.route(service);
+        route.requestStarted();
+        route.requestStarted();
+        telemetryCollector.getLoad("metrics-1").requestStarted();
+
+        assertThat(registry.get("gateway.route.inflight").tag("route", "metrics-service").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("gateway.instance.inflight").tag("instance", "metrics-1").gauge().value()).isEqualTo(1.0);
+
+        route.record(TimeUnit.MILLISECONDS.toNanos(20), true);
+        route.record(TimeUnit.MILLISECONDS.toNanos(40), false);
+        route.requestFinished();
+        metrics.recordInstanceLatency(service, instance, TimeUnit.MILLISECONDS.toNanos(15));
+        route.failover(GatewayConfig.FallbackStrategy.FAILOVER_INSTANCE);
+        route.fallback(GatewayConfig.FallbackStrategy.CACHED_RESPONSE);
+        route.fallback(GatewayConfig.FallbackStrategy.CACHED_RESPONSE);
+
+        Timer success = registry.get("gateway.route.requests").tags("route", "metrics-service", "outcome", "success").timer();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(success.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20.0);
+        assertThat(registry.get("gateway.route.requests").tags("route", "metrics-service", "outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(registry.get("gateway.route.inflight").tag("route", "metrics-service").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("gateway.instance.latency").tag("instance", "metrics-1").timer().count()).isEqualTo(1);
+        assertThat(registry.get("gateway.route.failovers").tags("route", "metrics-service", "strategy", "FAILOVER_INSTANCE").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("gateway.route.fallbacks").tags("route", "metrics-service", "strategy", "CACHED_RESPONSE").counter().count()).isEqualTo(2.0);
+    }
+}
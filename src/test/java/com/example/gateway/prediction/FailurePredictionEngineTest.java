@@ -1,10 +1,13 @@
 package com.example.gateway.prediction;
 
-import java.time.LocalDateTime;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,7 +35,7 @@ public class FailurePredictionEngineTest {
         metricMap.put(serviceId, metrics);
 
         for (int i = 0; i < 10; i++) {
-            metrics.addMetricPoint(new FailurePredictionEngine.MetricPoint(LocalDateTime.now().minusMinutes(10 - i), 100.0 + i, true, 0.4, 0.6, 50 + i));
+            metrics.record(System.nanoTime() - TimeUnit.MINUTES.toNanos(10 - i), 100.0 + i, true, 0.4, 0.6, 50 + i);
         }
 
         failurePredictionEngine.recordMetric(serviceId, 150.0, true, 0.4, 0.6, 50);
@@ -40,11 +43,146 @@ public class FailurePredictionEngineTest {
         assertTrue(metricMap.containsKey(serviceId), "ServiceMetrics should be created for this serviceId");
         FailurePredictionEngine.ServiceMetrics updatedMetrics = metricMap.get(serviceId);
         assertNotNull(updatedMetrics, "ServiceMetrics object should not be null");
-        assertEquals(11, updatedMetrics.getMetricPoints().size(), "MetricPoint should be added to ServiceMetrics");
+        assertEquals(11, updatedMetrics.size(), "Metric sample should be added to ServiceMetrics");
+
+        assertFalse(modelMap.containsKey(serviceId), "Recording a metric should not train the model");
+
+        failurePredictionEngine.trainModels(256);
 
         assertTrue(modelMap.containsKey(serviceId));
         FailurePredictionEngine.PredictionModel predictionModel = modelMap.get(serviceId);
         assertNotNull(predictionModel, "PredictionModel object should not be null");
         assertEquals(1, predictionModel.getTrainingCount(), "Prints training count");
     }
+
+    @Test
+    void testWindowCursor_skipsSamplesOutsideWindow() {
+        FailurePredictionEngine.ServiceMetrics metrics = new FailurePredictionEngine.ServiceMetrics("test-service-2");
+        long now = System.nanoTime();
+
+        metrics.record(now - TimeUnit.MINUTES.toNanos(20), 900.0, false, 0.9, 0.9, 90);
+        metrics.record(now - TimeUnit.MINUTES.toNanos(1), 120.0, true, 0.3, 0.5, 40);
+        metrics.record(now, 80.0, true, 0.2, 0.4, 30);
+
+        FailurePredictionEngine.WindowCursor cursor = metrics.openWindow(new FailurePredictionEngine.WindowCursor(), TimeUnit.MINUTES.toNanos(10));
+
+        assertTrue(cursor.next());
+        assertEquals(120.0f, cursor.responseTime());
+        assertEquals(40, cursor.activeConnections());
+        assertTrue(cursor.next());
+        assertEquals(80.0f, cursor.responseTime());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void testServiceMetrics_keepsOnlyLatestCapacitySamples() {
+        FailurePredictionEngine.ServiceMetrics metrics = new FailurePredictionEngine.ServiceMetrics("test-service-3");
+        int total = FailurePredictionEngine.ServiceMetrics.CAPACITY + 10;
+
+        for (int i = 0; i < total; i++) {
+            metrics.record(System.nanoTime(), i, true, 0.1, 0.1, 1);
+        }
+
+        FailurePredictionEngine.WindowCursor cursor = metrics.openWindow(new FailurePredictionEngine.WindowCursor(), TimeUnit.MINUTES.toNanos(10));
+        assertTrue(cursor.next());
+        assertEquals(10.0f, cursor.responseTime(), "Oldest samples should be overwritten");
+        assertEquals(FailurePredictionEngine.ServiceMetrics.CAPACITY, metrics.size());
+        assertEquals(FailurePredictionEngine.ServiceMetrics.CAPACITY - 1, cursor.count());
+    }
+
+    @Test
+    void testTrainModels_consumesOnlyNewSamplesAndDropsBacklog() {
+        String serviceId = "test-service-4";
+
+        for (int i = 0; i < 50; i++) {
+            failurePredictionEngine.recordMetric(serviceId, 100.0, true, 0.2, 0.3, 10);
+        }
+        failurePredictionEngine.trainModels(20);
+
+        FailurePredictionEngine.PredictionModel predictionModel = modelMap.get(serviceId);
+        assertEquals(1, predictionModel.getTrainingCount());
+        assertEquals(50, predictionModel.getTrainedSequence());
+        assertEquals(30, predictionModel.getDroppedSamples(), "Samples beyond the batch size should be dropped");
+
+        failurePredictionEngine.trainModels(20);
+        assertEquals(1, predictionModel.getTrainingCount(), "No new samples means no training run");
+
+        failurePredictionEngine.recordMetric(serviceId, 100.0, false, 0.2, 0.3, 10);
+        failurePredictionEngine.trainModels(20);
+        assertEquals(2, predictionModel.getTrainingCount());
+        assertEquals(51, predictionModel.getTrainedSequence());
+    }
+
+    @Test
+    void testPredictFailure_extrapolatesLatencyTrend() {
+        String serviceId = "test-service-5";
+        FailurePredictionEngine.ServiceMetrics metrics = new FailurePredictionEngine.ServiceMetrics(serviceId);
+        metricMap.put(serviceId, metrics);
+
+        long now = System.nanoTime();
+        for (int i = 0; i < 300; i++) {
+            metrics.record(now - TimeUnit.SECONDS.toNanos(300 - i), 100.0 + i, true, 0.3, 0.4, 20);
+        }
+        failurePredictionEngine.trainModels(1024);
+
+        StreamingFeatures.Snapshot features = modelMap.get(serviceId).getFeatures().snapshot();
+        assertEquals(300, features.sampleCount());
+        assertEquals(60.0, features.latencySlope(), 0.5, "Latency rises by one unit per second");
+
+        FailurePredictionEngine.PredictionResult current = failurePredictionEngine.predictFailure(serviceId, 0);
+        FailurePredictionEngine.PredictionResult ahead = failurePredictionEngine.predictFailure(serviceId, 30);
+
+        assertEquals(serviceId, current.getServiceId());
+        assertEquals(serviceId, ahead.getServiceId());
+        assertFalse(current.isActionRequired());
+        assertTrue(ahead.isActionRequired());
+        assertTrue(ahead.getRiskScore() > current.getRiskScore());
+        assertTrue(ahead.getReason().startsWith("Latency"), ahead.getReason());
+    }
+
+    @Test
+    void testPredictFailure_requiresSamples() {
+        FailurePredictionEngine.PredictionModel model = new FailurePredictionEngine.PredictionModel("test-service-6");
+
+        FailurePredictionEngine.PredictionResult result = model.predict(5);
+
+        assertEquals("test-service-6", result.getServiceId());
+        assertEquals(0.0, result.getRiskScore());
+        assertFalse(result.isActionRequired());
+    }
+
+    @Test
+    void testSnapshot_restoresRingsAndModelsAfterRestart(@TempDir Path directory) {
+        Path file = directory.resolve("prediction.snapshot");
+        FailurePredictionEngine engine = new FailurePredictionEngine(metricMap, modelMap, new PredictionSnapshotStore(file));
+        for (int i = 0; i < 40; i++) {
+            engine.recordMetric("warm-service", 100.0 + i, i % 4 != 0, 0.3, 0.4, 10);
+            engine.recordMetric("other-service", 50.0, true, 0.2, 0.2, 5);
+        }
+        engine.trainModels(256);
+        FailurePredictionEngine.PredictionModel trained = modelMap.get("warm-service");
+        engine.saveSnapshot();
+        assertTrue(Files.exists(file));
+
+        ConcurrentHashMap<String, FailurePredictionEngine.ServiceMetrics> restartedMetrics = new ConcurrentHashMap<>();
+        ConcurrentHashMap<String, FailurePredictionEngine.PredictionModel> restartedModels = new ConcurrentHashMap<>();
+        PredictionSnapshotStore restartedStore = new PredictionSnapshotStore(file);
+        FailurePredictionEngine restarted = new FailurePredictionEngine(restartedMetrics, restartedModels, restartedStore);
+        assertTrue(restartedMetrics.isEmpty(), "Nothing is decoded before a service is used");
+
+        FailurePredictionEngine.PredictionResult result = restarted.predictFailure("warm-service", 5);
+        FailurePredictionEngine.PredictionModel restored = restartedModels.get("warm-service");
+        assertNotNull(restored);
+        assertEquals("warm-service", result.getServiceId());
+        assertArrayEquals(trained.getWeights(), restored.getWeights());
+        assertEquals(trained.getBias(), restored.getBias());
+        assertEquals(trained.getTrainingCount(), restored.getTrainingCount());
+        assertEquals(40, restartedMetrics.get("warm-service").size());
+        assertEquals(40, restored.getTrainedSequence(), "Restored samples are not trained on twice");
+        assertEquals(40, restored.getFeatures().snapshot().sampleCount());
+        assertFalse(restartedMetrics.containsKey("other-service"));
+
+        restarted.saveSnapshot();
+        assertTrue(new PredictionSnapshotStore(file).contains("other-service"), "Unrestored entries survive the next save");
+    }
 }
@@ -0,0 +1,71 @@
+package com.example.gateway.resilience;
+
+import com.example.gateway.config.GatewayConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientRateLimiterTest {
+
+    private GatewayConfig.RateLimitConfig rateLimitConfig(double requestsPerSecond, int burst) {
+        GatewayConfig.RateLimitConfig config = new GatewayConfig.RateLimitConfig();
+        config.setEnabled(true);
+        config.setRequestsPerSecond(requestsPerSecond);
+        config.setBurst(burst);
+        config.setSweepIntervalMillis(1000);
+        return config;
+    }
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenSpaceRequestsByTheRate() {
+        ClientRateLimiter limiter = new ClientRateLimiter(rateLimitConfig(10, 5));
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("client-a", now)).isZero();
+        }
+        assertThat(limiter.tryAcquire("client-a", now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.resetNanos("client-a", now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.tryAcquire("client-b", now)).isZero();
+
+        long later = now + TimeUnit.MILLISECONDS.toNanos(100);
+        assertThat(limiter.tryAcquire("client-a", later)).isZero();
+        assertThat(limiter.tryAcquire("client-a", later)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldEvictClientsWhoseBucketHasRefilled() {
+        ClientRateLimiter limiter = new ClientRateLimiter(rateLimitConfig(10, 5));
+        long now = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("client-" + i, now);
+        }
+        assertThat(limiter.size()).isEqualTo(1000);
+
+        long later = now + TimeUnit.SECONDS.toNanos(2);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("probe-" + i, later);
+        }
+
+        assertThat(limiter.size()).isEqualTo(1000);
+        assertThat(limiter.resetNanos("client-0", later)).isZero();
+    }
+
+    @Test
+    void clientKey_shouldPreferHeaderThenForwardedForThenRemoteAddress() {
+        GatewayConfig.RateLimitConfig config = rateLimitConfig(10, 5);
+        config.setKeySource(GatewayConfig.RateLimitKeySource.HEADER);
+        InetSocketAddress remote = new InetSocketAddress("10.0.0.7", 43210);
+
+        assertThat(ClientRateLimiter.clientKey(MockServerHttpRequest.get("/api").header("X-API-Key", "key-1").remoteAddress(remote).build(), config)).isEqualTo("key-1");
+        assertThat(ClientRateLimiter.clientKey(MockServerHttpRequest.get("/api").header("X-Forwarded-For", "203.0.113.9, 10.0.0.1").remoteAddress(remote).build(), config)).isEqualTo("10.0.0.7");
+
+        config.setTrustForwardedFor(true);
+        assertThat(ClientRateLimiter.clientKey(MockServerHttpRequest.get("/api").header("X-Forwarded-For", "203.0.113.9, 10.0.0.1").remoteAddress(remote).build(), config)).isEqualTo("203.0.113.9");
+    }
+}
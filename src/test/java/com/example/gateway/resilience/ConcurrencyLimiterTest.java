@@ -0,0 +1,118 @@
+package com.example.gateway.resilience;
+
+import com.example.gateway.config.GatewayConfig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimiterTest {
+
+    private GatewayConfig.ConcurrencyLimitConfig limitConfig(int initialLimit) {
+        GatewayConfig.ConcurrencyLimitConfig config = new GatewayConfig.ConcurrencyLimitConfig();
+        config.setEnabled(true);
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(5);
+        config.setMaxLimit(200);
+        return config;
+    }
+
+    private GatewayConfig.ServiceConfig createService(String id, int priority) {
+        GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+        service.setId(id);
+        service.setPriority(priority);
+        service.setConcurrencyLimit(limitConfig(10));
+        return service;
+    }
+
+    @Test
+    void tryAcquire_shouldRejectPastTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limitConfig(20));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void limit_shouldGrowUnderLoadWhileRttIsSteadyAndShrinkWhenItRises() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limitConfig(20));
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int grown = limiter.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(limiter.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    void limit_shouldNotGrowWhileMostlyIdleButStillShrink() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limitConfig(20));
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(limiter.getLimit()).isLessThan(20);
+    }
+
+    @Test
+    void onDropped_shouldBackOffDownToTheMinimum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limitConfig(100));
+
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(90);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onDropped();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void loadShedder_shouldShedLowerPriorityRoutesFirst() {
+        GatewayConfig gatewayConfig = new GatewayConfig();
+        gatewayConfig.getLoadShedding().setEnabled(true);
+        LoadShedder shedder = new LoadShedder(gatewayConfig);
+        GatewayConfig.ServiceConfig critical = createService("payments", 1);
+        GatewayConfig.ServiceConfig batch = createService("reports", 3);
+        ConcurrencyLimiter criticalLimiter = shedder.limiter(critical);
+        ConcurrencyLimiter batchLimiter = shedder.limiter(batch);
+        assertThat(shedder.getTotalLimit()).isEqualTo(20);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(shedder.tryAcquire(critical, criticalLimiter)).isEqualTo(LoadShedder.Decision.ADMITTED);
+        }
+        for (int i = 0; i < 6; i++) {
+            assertThat(shedder.tryAcquire(batch, batchLimiter)).isEqualTo(LoadShedder.Decision.ADMITTED);
+        }
+
+        assertThat(shedder.tryAcquire(batch, batchLimiter)).isEqualTo(LoadShedder.Decision.SHED);
+        assertThat(shedder.tryAcquire(critical, criticalLimiter)).isEqualTo(LoadShedder.Decision.ROUTE_LIMITED);
+
+        shedder.release(criticalLimiter);
+        assertThat(shedder.tryAcquire(critical, criticalLimiter)).isEqualTo(LoadShedder.Decision.ADMITTED);
+
+        List.of("payments", "reports").forEach(shedder::remove);
+        assertThat(shedder.getTotalLimit()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.gateway.resilience;
+
+import com.example.gateway.config.GatewayConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryPolicyTest {
+
+    @Test
+    void backoffShouldStayWithinJitteredCeiling() {
+        GatewayConfig.RetryConfig config = new GatewayConfig.RetryConfig();
+        config.setBaseBackoffMillis(100);
+        config.setMaxBackoffMillis(1000);
+        RetryPolicy policy = new RetryPolicy(config);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(policy.backoff(1)).isBetween(Duration.ZERO, Duration.ofMillis(200));
+            assertThat(policy.backoff(10)).isBetween(Duration.ZERO, Duration.ofMillis(1000));
+        }
+    }
+
+    @Test
+    void shouldOnlyRetryTransientFailures() {
+        RetryPolicy policy = new RetryPolicy(new GatewayConfig.RetryConfig());
+
+        assertThat(policy.isRetryable(WebClientResponseException.create(503, "Service Unavailable", new HttpHeaders(), new byte[0], null))).isTrue();
+        assertThat(policy.isRetryable(WebClientResponseException.create(500, "Internal Server Error", new HttpHeaders(), new byte[0], null))).isFalse();
+        assertThat(policy.isRetryable(WebClientResponseException.create(404, "Not Found", new HttpHeaders(), new byte[0], null))).isFalse();
+        assertThat(policy.isRetryable(new WebClientRequestException(new ConnectException("refused"), HttpMethod.GET, URI.create("http://upstream"), new HttpHeaders()))).isTrue();
+        assertThat(policy.isRetryable(new TimeoutException())).isTrue();
+        assertThat(policy.isRetryable(new IllegalStateException("bug"))).isFalse();
+    }
+
+    @Test
+    void budgetShouldOnlyRefillFromSuccesses() {
+        GatewayConfig.RetryConfig config = new GatewayConfig.RetryConfig();
+        config.setBudgetPercent(50);
+        config.setMaxBurst(2);
+        RetryPolicy policy = new RetryPolicy(config);
+
+        assertThat(policy.getBudget().tryAcquire()).isTrue();
+        assertThat(policy.getBudget().tryAcquire()).isTrue();
+        assertThat(policy.getBudget().tryAcquire()).isFalse();
+
+        policy.onSuccess();
+        assertThat(policy.getBudget().tryAcquire()).isFalse();
+        policy.onSuccess();
+        assertThat(policy.getBudget().tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.gateway.routing;
+
+import com.example.gateway.config.GatewayConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ConsistentHashRingTest {
+
+    private GatewayConfig.ServiceInstance createInstance(String id, int weight) {
+        GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+        instance.setId(id);
+        instance.setUrl("http://" + id + ":8080");
+        instance.setWeight(weight);
+        return instance;
+    }
+
+    @Test
+    void locate_shouldSplitKeysByWeight() {
+        ConsistentHashRing ring = ConsistentHashRing.build(new GatewayConfig.ServiceInstance[] {
+            createInstance("a", 100), createInstance("b", 100), createInstance("c", 200) }, 160);
+        Map<String, Integer> hits = new HashMap<>();
+        int keys = 20_000;
+
+        for (int i = 0; i < keys; i++) {
+            hits.merge(ring.locate(ConsistentHashRing.hash("user-" + i)).getId(), 1, Integer::sum);
+        }
+
+        assertThat(hits.get("a") / (double) keys).isCloseTo(0.25, within(0.05));
+        assertThat(hits.get("b") / (double) keys).isCloseTo(0.25, within(0.05));
+        assertThat(hits.get("c") / (double) keys).isCloseTo(0.5, within(0.05));
+    }
+
+    @Test
+    void removingAnInstance_shouldOnlyMoveItsKeysToTheirSuccessor() {
+        GatewayConfig.ServiceInstance a = createInstance("a", 100);
+        GatewayConfig.ServiceInstance b = createInstance("b", 100);
+        GatewayConfig.ServiceInstance c = createInstance("c", 100);
+        GatewayConfig.ServiceInstance d = createInstance("d", 100);
+        ConsistentHashRing before = ConsistentHashRing.build(new GatewayConfig.ServiceInstance[] { a, b, c, d }, 160);
+        ConsistentHashRing after = ConsistentHashRing.build(new GatewayConfig.ServiceInstance[] { a, b, d }, 160);
+        int moved = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            long key = ConsistentHashRing.hash("user-" + i);
+            GatewayConfig.ServiceInstance owner = before.locate(key);
+            if (owner == c) {
+                moved++;
+                assertThat(after.locate(key)).isSameAs(before.successor(key, "c", 0));
+            } else {
+                assertThat(after.locate(key)).isSameAs(owner);
+            }
+        }
+        assertThat(moved).isBetween(1_500, 3_500);
+    }
+
+    @Test
+    void successor_shouldSkipDistinctInstances() {
+        ConsistentHashRing ring = ConsistentHashRing.build(new GatewayConfig.ServiceInstance[] {
+            createInstance("a", 100), createInstance("b", 100), createInstance("c", 100) }, 160);
+        long key = ConsistentHashRing.hash("user-1");
+        String owner = ring.locate(key).getId();
+
+        GatewayConfig.ServiceInstance first = ring.successor(key, owner, 0);
+        GatewayConfig.ServiceInstance second = ring.successor(key, owner, 1);
+
+        assertThat(first.getId()).isNotEqualTo(owner);
+        assertThat(second.getId()).isNotIn(owner, first.getId());
+        assertThat(ring.successor(key, owner, 2)).isNull();
+    }
+
+    @Test
+    void keyHash_shouldReadHeaderCookieAndPathSegment() {
+        GatewayConfig.HashKeyConfig hashKey = new GatewayConfig.HashKeyConfig();
+        long expected = ConsistentHashRing.hash("42");
+
+        hashKey.setSource(GatewayConfig.HashKeySource.HEADER);
+        hashKey.setName("X-User-Id");
+        assertThat(LoadBalancer.keyHash(MockServerHttpRequest.get("/api/users").header("X-User-Id", "42").build(), hashKey)).isEqualTo(expected);
+        assertThat(LoadBalancer.keyHash(MockServerHttpRequest.get("/api/users").build(), hashKey)).isEqualTo(ConsistentHashRing.NO_KEY);
+
+        hashKey.setSource(GatewayConfig.HashKeySource.COOKIE);
+        hashKey.setName("user");
+        assertThat(LoadBalancer.keyHash(MockServerHttpRequest.get("/api/users").header("Cookie", "theme=dark; user=42; lang=en").build(), hashKey)).isEqualTo(expected);
+        assertThat(LoadBalancer.keyHash(MockServerHttpRequest.get("/api/users").header("Cookie", "username=7").build(), hashKey)).isEqualTo(ConsistentHashRing.NO_KEY);
+
+        hashKey.setSource(GatewayConfig.HashKeySource.PATH_SEGMENT);
+        hashKey.setSegment(2);
+        assertThat(LoadBalancer.keyHash(MockServerHttpRequest.get("/api/users/42/orders").build(), hashKey)).isEqualTo(expected);
+        assertThat(LoadBalancer.keyHash(MockServerHttpRequest.get("/api/users").build(), hashKey)).isEqualTo(ConsistentHashRing.NO_KEY);
+    }
+}
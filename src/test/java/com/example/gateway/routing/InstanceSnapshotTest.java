@@ -0,0 +1,55 @@
+package com.example.gateway.routing;
+
+import com.example.gateway.config.GatewayConfig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class InstanceSnapshotTest {
+
+    private GatewayConfig.ServiceInstance createInstance(String id, int weight) {
+        GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+        instance.setId(id);
+        instance.setUrl("http://" + id + ":8080");
+        instance.setWeight(weight);
+        return instance;
+    }
+
+    @Test
+    void pick_shouldFollowConfiguredWeights() {
+        InstanceSnapshot snapshot = InstanceSnapshot.of(1, List.of(createInstance("a", 100), createInstance("b", 80), createInstance("c", 20)));
+        Map<String, Integer> hits = new HashMap<>();
+        int samples = 200_000;
+
+        for (int i = 0; i < samples; i++) {
+            hits.merge(snapshot.pick().getId(), 1, Integer::sum);
+        }
+
+        assertThat(hits.get("a") / (double) samples).isCloseTo(0.5, within(0.01));
+        assertThat(hits.get("b") / (double) samples).isCloseTo(0.4, within(0.01));
+        assertThat(hits.get("c") / (double) samples).isCloseTo(0.1, within(0.01));
+    }
+
+    @Test
+    void pick_shouldNeverReturnZeroWeightInstance() {
+        InstanceSnapshot snapshot = InstanceSnapshot.of(1, List.of(createInstance("a", 0), createInstance("b", 10)));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(snapshot.pick().getId()).isEqualTo("b");
+        }
+    }
+
+    @Test
+    void of_shouldBeEmptyWithoutInstances() {
+        InstanceSnapshot snapshot = InstanceSnapshot.of(7, List.of());
+
+        assertThat(snapshot.isEmpty()).isTrue();
+        assertThat(snapshot.getVersion()).isEqualTo(7);
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.gateway.routing;
 
+import com.example.gateway.cache.CacheKey;
+import com.example.gateway.cache.ResponseCacheManager;
 import com.example.gateway.config.GatewayConfig;
 import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.metrics.GatewayMetrics;
 import com.example.gateway.prediction.FailurePredictionEngine;
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,22 +24,28 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -75,6 +88,11 @@ public class SelfHealingRouteManagerTest {
     private ArgumentCaptor<Boolean> successCaptor;
 
     private MockWebServer mockWebServer;
+    private InstanceTelemetryCollector telemetryCollector;
+    private CircuitBreakerManager circuitBreakerManager;
+    private ResponseCacheManager responseCacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayMetrics gatewayMetrics;
     private SelfHealingRouteManager selfHealingRouteManager;
 
     private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
@@ -86,7 +104,12 @@ public class SelfHealingRouteManagerTest {
 
         WebClient.Builder webClientBuilder = WebClient.builder().baseUrl(mockWebServer.url("/").toString());
 
-        selfHealingRouteManager = new SelfHealingRouteManager(mockGatewayConfig, mockFailurePredictionEngine, mockHealthMonitor, webClientBuilder);
+        telemetryCollector = new InstanceTelemetryCollector(webClientBuilder);
+        circuitBreakerManager = new CircuitBreakerManager();
+        responseCacheManager = new ResponseCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        gatewayMetrics = new GatewayMetrics(meterRegistry, new GatewayConfig(), telemetryCollector);
+        selfHealingRouteManager = new SelfHealingRouteManager(mockGatewayConfig, mockFailurePredictionEngine, mockHealthMonitor, new LoadBalancer(mockGatewayConfig, mockHealthMonitor, circuitBreakerManager, telemetryCollector), telemetryCollector, circuitBreakerManager, responseCacheManager, gatewayMetrics, webClientBuilder);
 
 //        when(mockExchange.getRequest()).thenReturn(mockRequest);
 //        when(mockExchange.getResponse()).thenReturn(mockResponse);
@@ -173,11 +196,9 @@ public class SelfHealingRouteManagerTest {
         
         when(mockExchange.getRequest()).thenReturn(mockRequest);
         when(mockExchange.getResponse()).thenReturn(mockResponse);
-        when(mockResponse.bufferFactory()).thenReturn(bufferFactory);
         when(mockResponse.writeWith(any())).thenReturn(Mono.empty());
         when(mockRequest.getMethod()).thenReturn(HttpMethod.GET);
         when(mockRequest.getHeaders()).thenReturn(new HttpHeaders());
-        when(mockRequest.getBody()).thenReturn(Flux.empty());
 
         mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("Redirected success"));
         when(mockHealthMonitor.isServiceHealthy(anyString())).thenReturn(true);
@@ -213,8 +234,6 @@ public class SelfHealingRouteManagerTest {
         when(mockRequest.getURI()).thenReturn(URI.create("/redir/data"));
         when(mockRequest.getMethod()).thenReturn(HttpMethod.GET);
         when(mockRequest.getHeaders()).thenReturn(new HttpHeaders());
-        when(mockRequest.getBody()).thenReturn(Flux.empty());
-        when(mockResponse.bufferFactory()).thenReturn(bufferFactory);
         when(mockResponse.writeWith(any())).thenReturn(Mono.empty());
 
         when(mockHealthMonitor.isServiceHealthy("i1")).thenReturn(false);
@@ -225,7 +244,7 @@ public class SelfHealingRouteManagerTest {
         StepVerifier.create(selfHealingRouteManager.createSelfHealingFilter(service).filter(mockExchange, mockFilterChain)).verifyComplete();
 
         verify(mockResponse).setStatusCode(HttpStatus.OK);
-        verify(mockResponse).writeWith(any(Mono.class));
+        verify(mockResponse).writeWith(any());
 
         RecordedRequest recordedRequest = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
         assertThat(recordedRequest.getPath()).startsWith("/instance2/redir/data");
@@ -234,6 +253,48 @@ public class SelfHealingRouteManagerTest {
         verify(mockFailurePredictionEngine, times(2)).recordMetric(anyString(), anyDouble(), anyBoolean(), anyDouble(), anyDouble(), anyInt());
     }
 
+    @Test
+    void redirectToHealthyInstance_shouldStreamBinaryBodyUnchanged() throws InterruptedException {
+        GatewayConfig.ServiceInstance instance = createInstance("i1", mockWebServer.url("/").toString(), 1, true);
+        GatewayConfig.ServiceConfig service = createServiceConfig("stream-service", "/stream", GatewayConfig.FallbackStrategy.DEFAULT_RESPONSE, Collections.singletonList(instance));
+
+        byte[] firstChunk = new byte[]{(byte) 0xC3, (byte) 0x28, 0x00, (byte) 0xFF};
+        byte[] secondChunk = new byte[]{(byte) 0xA0, (byte) 0xA1, 0x7F};
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.setContentLength(firstChunk.length + secondChunk.length);
+
+        when(mockFilterChain.filter(mockExchange)).thenReturn(Mono.error(new RuntimeException("Simulated upstream error")));
+        when(mockExchange.getRequest()).thenReturn(mockRequest);
+        when(mockExchange.getResponse()).thenReturn(mockResponse);
+        when(mockRequest.getURI()).thenReturn(URI.create("/stream/upload"));
+        when(mockRequest.getMethod()).thenReturn(HttpMethod.POST);
+        when(mockRequest.getHeaders()).thenReturn(requestHeaders);
+        when(mockRequest.getBody()).thenReturn(Flux.just(bufferFactory.wrap(firstChunk), bufferFactory.wrap(secondChunk)));
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        when(mockResponse.writeWith(any())).thenAnswer(invocation -> {
+            Flux<DataBuffer> body = Flux.from(invocation.getArgument(0));
+            return body.doOnNext(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                written.writeBytes(bytes);
+                DataBufferUtils.release(buffer);
+            }).then();
+        });
+        when(mockHealthMonitor.isServiceHealthy("i1")).thenReturn(true);
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody(new Buffer().write(new byte[]{0x01, (byte) 0xFE})));
+
+        StepVerifier.create(selfHealingRouteManager.createSelfHealingFilter(service).filter(mockExchange, mockFilterChain)).verifyComplete();
+
+        verify(mockResponse).setStatusCode(HttpStatus.OK);
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(recordedRequest).isNotNull();
+        assertThat(recordedRequest.getMethod()).isEqualTo("POST");
+        assertThat(recordedRequest.getBody().readByteArray()).containsExactly((byte) 0xC3, (byte) 0x28, 0x00, (byte) 0xFF, (byte) 0xA0, (byte) 0xA1, 0x7F);
+        assertThat(written.toByteArray()).containsExactly(0x01, (byte) 0xFE);
+    }
+
     @Test
     void handleFallbackStrategy_circuitBreaker() {
         GatewayConfig.ServiceConfig service = createServiceConfig("cb-service", "/cb", GatewayConfig.FallbackStrategy.CIRCUIT_BREAKER, Collections.emptyList());
@@ -254,5 +315,211 @@ public class SelfHealingRouteManagerTest {
         String responseBody = capturedDataBuffer.toString(StandardCharsets.UTF_8);
         assertThat(responseBody).contains("Service temporarily unavailable - circuit breaker open");
     }
-}
 
+    @Test
+    void createSelfHealingFilter_shouldFailFastWhenServiceBreakerOpen() {
+        GatewayConfig.ServiceInstance instance = createInstance("i1", mockWebServer.url("/").toString(), 1, true);
+        GatewayConfig.ServiceConfig service = createServiceConfig("open-service", "/open", GatewayConfig.FallbackStrategy.FAILOVER_INSTANCE, Collections.singletonList(instance));
+        circuitBreakerManager.serviceBreaker(service).transitionToOpenState();
+
+        when(mockExchange.getResponse()).thenReturn(mockResponse);
+        when(mockResponse.bufferFactory()).thenReturn(bufferFactory);
+        when(mockResponse.writeWith(any())).thenReturn(Mono.empty());
+        when(mockResponse.getHeaders()).thenReturn(new HttpHeaders());
+
+        StepVerifier.create(selfHealingRouteManager.createSelfHealingFilter(service).filter(mockExchange, mockFilterChain)).verifyComplete();
+
+        verify(mockResponse).setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        verifyNoInteractions(mockFilterChain);
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void selectHealthyInstance_shouldSkipInstanceWithOpenBreaker() {
+        GatewayConfig.ServiceInstance instance1 = createInstance("cb-i1", "http://instance1:8080", 1, true);
+        GatewayConfig.ServiceInstance instance2 = createInstance("cb-i2", "http://instance2:8080", 1, true);
+        GatewayConfig.ServiceConfig service = createServiceConfig("breaker-service", "/breaker", GatewayConfig.FallbackStrategy.DEFAULT_RESPONSE, Arrays.asList(instance1, instance2));
+
+        when(mockHealthMonitor.isServiceHealthy(anyString())).thenReturn(true);
+        when(mockGatewayConfig.getServices()).thenReturn(Collections.singletonList(service));
+
+        circuitBreakerManager.instanceBreaker(service, "cb-i1").transitionToOpenState();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(selfHealingRouteManager.selectHealthyInstance(service)).isEqualTo("http://instance2:8080");
+        }
+        assertThat(circuitBreakerManager.isInstanceRoutable("cb-i1")).isFalse();
+    }
+
+    @Test
+    void handleFallbackStrategy_cachedResponseServesStoredEntry() {
+        GatewayConfig.ServiceConfig service = createServiceConfig("cache-service", "/cache", GatewayConfig.FallbackStrategy.CACHED_RESPONSE, Collections.emptyList());
+        CacheKey key = new CacheKey("GET", "/cache/items", "page=1", List.of(""));
+        HttpHeaders cachedHeaders = new HttpHeaders();
+        cachedHeaders.add("Content-Type", "application/json");
+        responseCacheManager.cacheFor(service).put(key, 200, cachedHeaders, "{\"items\":[1,2]}".getBytes(StandardCharsets.UTF_8));
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        when(mockFilterChain.filter(mockExchange)).thenReturn(Mono.error(new RuntimeException("Simulated upstream error")));
+        when(mockExchange.getAttribute(anyString())).thenAnswer(invocation -> SelfHealingRouteManager.CACHE_KEY_ATTR.equals(invocation.getArgument(0)) ? key : null);
+        when(mockExchange.getResponse()).thenReturn(mockResponse);
+        when(mockResponse.bufferFactory()).thenReturn(bufferFactory);
+        when(mockResponse.writeWith(any())).thenReturn(Mono.empty());
+        when(mockResponse.getHeaders()).thenReturn(responseHeaders);
+
+        StepVerifier.create(selfHealingRouteManager.createSelfHealingFilter(service).filter(mockExchange, mockFilterChain)).verifyComplete();
+
+        verify(mockResponse).setStatusCode(HttpStatus.OK);
+        assertThat(responseHeaders.getFirst(ResponseCacheManager.CACHE_STATUS_HEADER)).isEqualTo("STALE");
+        assertThat(responseHeaders.getFirst("Content-Type")).isEqualTo("application/json");
+        ArgumentCaptor<Mono<DataBuffer>> buffer = ArgumentCaptor.forClass(Mono.class);
+        verify(mockResponse).writeWith(buffer.capture());
+        assertThat(buffer.getValue().block().toString(StandardCharsets.UTF_8)).isEqualTo("{\"items\":[1,2]}");
+    }
+
+    @Test
+    void handleFallbackStrategy_cachedResponseWithoutEntryReturns503() {
+        GatewayConfig.ServiceConfig service = createServiceConfig("empty-cache-service", "/cache", GatewayConfig.FallbackStrategy.CACHED_RESPONSE, Collections.emptyList());
+
+        when(mockFilterChain.filter(mockExchange)).thenReturn(Mono.error(new RuntimeException("Simulated upstream error")));
+        when(mockExchange.getResponse()).thenReturn(mockResponse);
+        when(mockResponse.bufferFactory()).thenReturn(bufferFactory);
+        when(mockResponse.writeWith(any())).thenReturn(Mono.empty());
+        when(mockResponse.getHeaders()).thenReturn(new HttpHeaders());
+
+        StepVerifier.create(selfHealingRouteManager.createSelfHealingFilter(service).filter(mockExchange, mockFilterChain)).verifyComplete();
+
+        verify(mockResponse).setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(meterRegistry.get("gateway.route.fallbacks").tags("route", "empty-cache-service", "strategy", "CACHED_RESPONSE").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.route.requests").tags("route", "empty-cache-service", "outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.route.inflight").tag("route", "empty-cache-service").gauge().value()).isZero();
+    }
+
+    @Test
+    void createLoadBalancingFilter_shouldHedgeSlowPrimaryToSecondInstance() throws IOException, InterruptedException {
+        MockWebServer fastServer = new MockWebServer();
+        fastServer.start();
+        try {
+            GatewayConfig.ServiceInstance slow = createInstance("slow", mockWebServer.url("").toString().replaceAll("/$", ""), 100, true);
+            GatewayConfig.ServiceInstance fast = createInstance("fast", fastServer.url("").toString().replaceAll("/$", ""), 0, true);
+            GatewayConfig.ServiceConfig service = createServiceConfig("hedge-service", "/hedge/**", GatewayConfig.FallbackStrategy.DEFAULT_RESPONSE, Arrays.asList(slow, fast));
+            service.getHedging().setEnabled(true);
+            service.getHedging().setInitialDelayMillis(50);
+
+            when(mockHealthMonitor.isServiceHealthy(anyString())).thenReturn(true);
+            mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(2, TimeUnit.SECONDS));
+            fastServer.enqueue(new MockResponse().setBody("fast"));
+
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hedge/items?page=1"));
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("self-healing://hedge-service/hedge/items?page=1"));
+
+            StepVerifier.create(selfHealingRouteManager.createLoadBalancingFilter(service).filter(exchange, mockFilterChain))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("fast");
+            GatewayConfig.ServiceInstance winner = exchange.getAttribute(SelfHealingRouteManager.SELECTED_INSTANCE_ATTR);
+            assertThat(winner.getId()).isEqualTo("fast");
+            assertThat(fastServer.takeRequest(1, TimeUnit.SECONDS).getPath()).isEqualTo("/hedge/items?page=1");
+            verifyNoInteractions(mockFilterChain);
+        } finally {
+            fastServer.shutdown();
+        }
+    }
+
+    @Test
+    void createLoadBalancingFilter_hedgedRequestShouldPassUpstream404Through() throws IOException {
+        MockWebServer secondServer = new MockWebServer();
+        secondServer.start();
+        try {
+            GatewayConfig.ServiceInstance primary = createInstance("hedge-404-primary", mockWebServer.url("").toString().replaceAll("/$", ""), 100, true);
+            GatewayConfig.ServiceInstance secondary = createInstance("hedge-404-secondary", secondServer.url("").toString().replaceAll("/$", ""), 0, true);
+            GatewayConfig.ServiceConfig service = createServiceConfig("hedge-404-service", "/hedge/**", GatewayConfig.FallbackStrategy.DEFAULT_RESPONSE, Arrays.asList(primary, secondary));
+            service.getHedging().setEnabled(true);
+            service.getHedging().setInitialDelayMillis(500);
+
+            when(mockHealthMonitor.isServiceHealthy(anyString())).thenReturn(true);
+            mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("missing"));
+
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hedge/items/42"));
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("self-healing://hedge-404-service/hedge/items/42"));
+
+            StepVerifier.create(selfHealingRouteManager.createLoadBalancingFilter(service).filter(exchange, mockFilterChain))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("missing");
+            assertThat(secondServer.getRequestCount()).isZero();
+            assertThat(circuitBreakerManager.instanceBreaker(service, "hedge-404-primary").getMetrics().getNumberOfFailedCalls()).isZero();
+        } finally {
+            secondServer.shutdown();
+        }
+    }
+
+    @Test
+    void selectHealthyInstance_leastLoadedShouldAvoidSlowInstance() {
+        GatewayConfig.ServiceInstance slow = createInstance("p2c-slow", "http://slow:8080", 100, true);
+        GatewayConfig.ServiceInstance fast = createInstance("p2c-fast", "http://fast:8080", 100, true);
+        GatewayConfig.ServiceConfig service = createServiceConfig("p2c-service", "/p2c", GatewayConfig.FallbackStrategy.DEFAULT_RESPONSE, Arrays.asList(slow, fast));
+        service.setLoadBalancingMode(GatewayConfig.LoadBalancingMode.LEAST_LOADED);
+
+        when(mockHealthMonitor.isServiceHealthy(anyString())).thenReturn(true);
+        telemetryCollector.getLoad("p2c-slow").recordLatency(TimeUnit.MILLISECONDS.toNanos(500));
+        telemetryCollector.getLoad("p2c-fast").recordLatency(TimeUnit.MILLISECONDS.toNanos(5));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(selfHealingRouteManager.selectHealthyInstance(service)).isEqualTo("http://fast:8080");
+        }
+    }
+
+    @Test
+    void handleFallbackStrategy_retryWithBackoffShouldReplayBodyUntilSuccess() throws InterruptedException {
+        GatewayConfig.ServiceInstance instance = createInstance("r1", mockWebServer.url("").toString().replaceAll("/$", ""), 1, true);
+        GatewayConfig.ServiceConfig service = createServiceConfig("retry-service", "/retry/**", GatewayConfig.FallbackStrategy.RETRY_WITH_BACKOFF, Collections.singletonList(instance));
+        service.getRetry().setBaseBackoffMillis(1);
+        service.getRetry().setMaxBackoffMillis(5);
+
+        when(mockHealthMonitor.isServiceHealthy(anyString())).thenReturn(true);
+        when(mockFilterChain.filter(any())).thenReturn(Mono.error(new RuntimeException("Simulated upstream error")));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("ok"));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/retry/orders").contentLength(7).body("payload"));
+
+        StepVerifier.create(selfHealingRouteManager.createSelfHealingFilter(service).filter(exchange, mockFilterChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("ok");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            RecordedRequest recordedRequest = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+            assertThat(recordedRequest.getMethod()).isEqualTo("POST");
+            assertThat(recordedRequest.getBody().readUtf8()).isEqualTo("payload");
+        }
+    }
+
+    @Test
+    void handleFallbackStrategy_retryWithBackoffShouldNotRetryClientErrors() {
+        GatewayConfig.ServiceInstance instance = createInstance("r2", mockWebServer.url("").toString().replaceAll("/$", ""), 1, true);
+        GatewayConfig.ServiceConfig service = createServiceConfig("retry-4xx-service", "/retry/**", GatewayConfig.FallbackStrategy.RETRY_WITH_BACKOFF, Collections.singletonList(instance));
+        service.getRetry().setBaseBackoffMillis(1);
+
+        when(mockFilterChain.filter(any())).thenReturn(Mono.error(new RuntimeException("Simulated upstream error")));
+        when(mockHealthMonitor.isServiceHealthy(anyString())).thenReturn(true);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("missing"));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/retry/orders/42"));
+
+        StepVerifier.create(selfHealingRouteManager.createSelfHealingFilter(service).filter(exchange, mockFilterChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+}
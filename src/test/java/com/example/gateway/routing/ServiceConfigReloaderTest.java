@@ -0,0 +1,132 @@
+package com.example.gateway.routing;
+
+import com.example.gateway.cache.ResponseCacheManager;
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.metrics.GatewayMetrics;
+import com.example.gateway.prediction.FailurePredictionEngine;
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.scheduler.HealthProbeScheduler;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ServiceConfigReloaderTest {
+    private MockWebServer mockWebServer;
+    private GatewayConfig gatewayConfig;
+    private HealthMonitor healthMonitor;
+    private CircuitBreakerManager circuitBreakerManager;
+    private ServiceConfigReloader reloader;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+        mockWebServer.start();
+
+        gatewayConfig = new GatewayConfig();
+        gatewayConfig.setServices(new ArrayList<>(List.of(createService("users", "users-1", "users-2"), createService("orders", "orders-1"))));
+
+        InstanceTelemetryCollector telemetryCollector = new InstanceTelemetryCollector(WebClient.builder());
+        healthMonitor = new HealthMonitor(WebClient.builder(), gatewayConfig);
+        circuitBreakerManager = new CircuitBreakerManager();
+        LoadBalancer loadBalancer = new LoadBalancer(gatewayConfig, healthMonitor, circuitBreakerManager, telemetryCollector);
+        ResponseCacheManager responseCacheManager = new ResponseCacheManager();
+        SelfHealingRouteManager routeManager = new SelfHealingRouteManager(gatewayConfig, new FailurePredictionEngine(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()), healthMonitor, loadBalancer, telemetryCollector, circuitBreakerManager, responseCacheManager, new GatewayMetrics(new SimpleMeterRegistry(), gatewayConfig, telemetryCollector), WebClient.builder());
+        HealthProbeScheduler probeScheduler = new HealthProbeScheduler(gatewayConfig, healthMonitor, telemetryCollector);
+        reloader = new ServiceConfigReloader(gatewayConfig, routeManager, loadBalancer, healthMonitor, probeScheduler, circuitBreakerManager, responseCacheManager, events::add);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void shouldKeepUnchangedServicesAndRefreshOnlyChangedRoutes() {
+        GatewayConfig.ServiceConfig orders = gatewayConfig.getServices().get(1);
+
+        ServiceConfigReloader.ReloadResult result = reloader.apply(List.of(createService("users", "users-1"), createService("orders", "orders-1"), createService("payments", "payments-1")));
+
+        assertThat(result.added()).containsExactly("payments");
+        assertThat(result.updated()).containsExactly("users");
+        assertThat(result.unchanged()).containsExactly("orders");
+        assertThat(result.removed()).isEmpty();
+        assertThat(gatewayConfig.getServices().get(1)).isSameAs(orders);
+        assertThat(events).hasSize(2).allSatisfy(event -> assertThat(event).isInstanceOf(RefreshRoutesEvent.class));
+        assertThat(events.stream().map(event -> ((RefreshRoutesEvent) event).getMetadata().get(SelfHealingRouteManager.SERVICE_ID_METADATA)))
+            .containsExactlyInAnyOrder("users", "payments");
+    }
+
+    @Test
+    void shouldPreserveStateOfSurvivingInstancesOnly() {
+        GatewayConfig.ServiceInstance survivor = gatewayConfig.getServices().get(0).getInstances().get(0);
+        healthMonitor.checkHealth("users-1", survivor.getUrl(), "/health").block(Duration.ofSeconds(5));
+        healthMonitor.checkHealth("users-2", survivor.getUrl(), "/health").block(Duration.ofSeconds(5));
+        GatewayConfig.ServiceConfig users = gatewayConfig.getServices().get(0);
+        var survivorBreaker = circuitBreakerManager.instanceBreaker(users, "users-1");
+        var retiredBreaker = circuitBreakerManager.instanceBreaker(users, "users-2");
+
+        reloader.apply(List.of(createService("users", "users-1"), createService("orders", "orders-1")));
+
+        GatewayConfig.ServiceConfig reloaded = gatewayConfig.getServices().get(0);
+        assertThat(reloaded.getInstances().get(0)).isSameAs(survivor);
+        assertThat(healthMonitor.getServiceHealth("users-1")).isNotNull();
+        assertThat(healthMonitor.getServiceHealth("users-2")).isNull();
+        assertThat(healthMonitor.snapshot("users").isKnown("users-1")).isTrue();
+        assertThat(healthMonitor.snapshot("users").isKnown("users-2")).isFalse();
+        assertThat(circuitBreakerManager.instanceBreaker(reloaded, "users-1")).isSameAs(survivorBreaker);
+        assertThat(circuitBreakerManager.instanceBreaker(reloaded, "users-2")).isNotSameAs(retiredBreaker);
+    }
+
+    @Test
+    void shouldRemoveServicesAndRejectInvalidInput() {
+        ServiceConfigReloader.ReloadResult result = reloader.apply(List.of(createService("users", "users-1", "users-2")));
+
+        assertThat(result.removed()).containsExactly("orders");
+        assertThat(gatewayConfig.getServices()).extracting(GatewayConfig.ServiceConfig::getId).containsExactly("users");
+
+        assertThatThrownBy(() -> reloader.apply(List.of(createService("users", "users-1"), createService("users", "users-2"))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(gatewayConfig.getServices()).extracting(GatewayConfig.ServiceConfig::getId).containsExactly("users");
+    }
+
+    private GatewayConfig.ServiceConfig createService(String id, String... instanceIds) {
+        GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+        service.setId(id);
+        service.setPath("/api/" + id + "/**");
+        List<GatewayConfig.ServiceInstance> instances = new ArrayList<>();
+        for (String instanceId : instanceIds) {
+            GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+            instance.setId(instanceId);
+            instance.setUrl(mockWebServer.url("/").toString().replaceAll("/$", ""));
+            instances.add(instance);
+        }
+        service.setInstances(instances);
+        return service;
+    }
+}
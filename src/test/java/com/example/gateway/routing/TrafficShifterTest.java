@@ -0,0 +1,133 @@
+package com.example.gateway.routing;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.prediction.FailurePredictionEngine;
+import com.example.gateway.resilience.CircuitBreakerManager;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class TrafficShifterTest {
+    private MockWebServer mockWebServer;
+    private GatewayConfig.ServiceConfig service;
+    private HealthMonitor healthMonitor;
+    private LoadBalancer loadBalancer;
+    private TrafficShifter trafficShifter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+        mockWebServer.start();
+
+        List<GatewayConfig.ServiceInstance> instances = new ArrayList<>();
+        for (String instanceId : List.of("users-1", "users-2")) {
+            GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+            instance.setId(instanceId);
+            instance.setUrl(mockWebServer.url("/").toString().replaceAll("/$", ""));
+            instances.add(instance);
+        }
+        service = new GatewayConfig.ServiceConfig();
+        service.setId("users");
+        service.setInstances(instances);
+
+        GatewayConfig gatewayConfig = new GatewayConfig();
+        gatewayConfig.setServices(new ArrayList<>(List.of(service)));
+
+        InstanceTelemetryCollector telemetryCollector = new InstanceTelemetryCollector(WebClient.builder());
+        healthMonitor = new HealthMonitor(WebClient.builder(), gatewayConfig);
+        loadBalancer = new LoadBalancer(gatewayConfig, healthMonitor, new CircuitBreakerManager(), telemetryCollector);
+        trafficShifter = new TrafficShifter(gatewayConfig, loadBalancer, healthMonitor, telemetryCollector);
+
+        for (GatewayConfig.ServiceInstance instance : service.getInstances()) {
+            healthMonitor.checkHealth(instance.getId(), instance.getUrl(), "/health").block(Duration.ofSeconds(5));
+        }
+        telemetryCollector.getLoad("users-1").recordLatency(TimeUnit.MILLISECONDS.toNanos(10));
+        telemetryCollector.getLoad("users-2").recordLatency(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void apply_shouldShiftWeightOffTheStressedInstanceDownToTheFloor() {
+        trafficShifter.apply(service, new FailurePredictionEngine.PredictionResult("users", 0.8, "latency trend", true));
+
+        InstanceSnapshot snapshot = loadBalancer.snapshot(service);
+        assertThat(snapshot.getWeight(0)).isEqualTo(100);
+        assertThat(snapshot.getWeight(1)).isEqualTo(20);
+
+        trafficShifter.apply(service, new FailurePredictionEngine.PredictionResult("users", 0.95, "latency trend", true));
+
+        assertThat(loadBalancer.snapshot(service).getWeight(1)).isEqualTo(10);
+        assertThat(trafficShifter.getAuditLog())
+            .extracting(TrafficShifter.WeightShift::instanceId, TrafficShifter.WeightShift::previousWeight, TrafficShifter.WeightShift::newWeight)
+            .containsExactly(
+                tuple("users-2", 100, 20),
+                tuple("users-2", 20, 10));
+    }
+
+    @Test
+    void apply_shouldRestoreWeightStepByStepOnceTheRiskIsGone() {
+        trafficShifter.apply(service, new FailurePredictionEngine.PredictionResult("users", 1.0, "error rate", true));
+        assertThat(loadBalancer.snapshot(service).getWeight(1)).isEqualTo(10);
+
+        List<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            trafficShifter.apply(service, new FailurePredictionEngine.PredictionResult("users", 0.1, "normal", false));
+            weights.add(loadBalancer.snapshot(service).getWeight(1));
+        }
+
+        assertThat(weights).containsExactly(30, 50, 70, 90, 100);
+        assertThat(loadBalancer.getWeightFactors("users")).isEmpty();
+        assertThat(trafficShifter.getAuditLog()).hasSize(6);
+    }
+
+    @Test
+    void apply_shouldAttributeRiskByRecentRequestFailures() {
+        for (int i = 0; i < 4; i++) {
+            healthMonitor.recordRequestOutcome(service, "users-1", false, 10);
+            healthMonitor.recordRequestOutcome(service, "users-1", false, 10);
+            healthMonitor.recordRequestOutcome(service, "users-1", false, 10);
+            healthMonitor.recordRequestOutcome(service, "users-1", true, 10);
+        }
+
+        trafficShifter.apply(service, new FailurePredictionEngine.PredictionResult("users", 0.8, "error rate", true));
+
+        assertThat(loadBalancer.snapshot(service).getWeight(0)).as("75% of recent requests failed").isEqualTo(20);
+        assertThat(loadBalancer.snapshot(service).getWeight(1)).isEqualTo(100);
+
+        for (int i = 0; i < 50; i++) {
+            healthMonitor.recordRequestOutcome(service, "users-1", true, 10);
+        }
+
+        trafficShifter.apply(service, new FailurePredictionEngine.PredictionResult("users", 0.8, "latency trend", true));
+
+        assertThat(loadBalancer.snapshot(service).getWeight(0)).as("Failures have left the window").isEqualTo(40);
+        assertThat(loadBalancer.snapshot(service).getWeight(1)).isEqualTo(20);
+    }
+}
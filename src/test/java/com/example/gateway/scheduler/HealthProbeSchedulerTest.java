@@ -0,0 +1,121 @@
+package com.example.gateway.scheduler;
+
+import com.example.gateway.config.GatewayConfig;
+import com.example.gateway.health.HealthMonitor;
+import com.example.gateway.telemetry.InstanceTelemetryCollector;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HealthProbeSchedulerTest {
+    private MockWebServer mockWebServer;
+    private GatewayConfig gatewayConfig;
+    private HealthMonitor healthMonitor;
+    private HealthProbeScheduler probeScheduler;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long responseDelayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(responseDelayMillis);
+                    return new MockResponse().setResponseCode(200);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        });
+        mockWebServer.start();
+
+        gatewayConfig = new GatewayConfig();
+        gatewayConfig.getHealthCheck().setIntervalSeconds(1);
+        gatewayConfig.getHealthCheck().setMinIntervalSeconds(1);
+        gatewayConfig.getHealthCheck().setMaxIntervalSeconds(8);
+        gatewayConfig.getHealthCheck().setStableChecksBeforeBackoff(2);
+        gatewayConfig.getHealthCheck().setCollectTelemetry(false);
+        gatewayConfig.setServices(List.of(createService(3)));
+
+        healthMonitor = new HealthMonitor(WebClient.builder(), gatewayConfig);
+        probeScheduler = new HealthProbeScheduler(gatewayConfig, healthMonitor, new InstanceTelemetryCollector(WebClient.builder()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        probeScheduler.stop();
+        mockWebServer.shutdown();
+    }
+
+    private GatewayConfig.ServiceConfig createService(int instanceCount) {
+        List<GatewayConfig.ServiceInstance> instances = new ArrayList<>();
+        for (int i = 1; i <= instanceCount; i++) {
+            GatewayConfig.ServiceInstance instance = new GatewayConfig.ServiceInstance();
+            instance.setId("probe-" + i);
+            instance.setUrl(mockWebServer.url("/instance" + i).toString());
+            instances.add(instance);
+        }
+        GatewayConfig.ServiceConfig service = new GatewayConfig.ServiceConfig();
+        service.setId("probe-service");
+        service.setInstances(instances);
+        return service;
+    }
+
+    @Test
+    void shouldProbeEveryInstanceWithinFirstInterval() throws InterruptedException {
+        probeScheduler.start();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(mockWebServer.takeRequest(2, TimeUnit.SECONDS)).isNotNull();
+        }
+        Thread.sleep(200);
+
+        assertThat(healthMonitor.isServiceHealthy("probe-1")).isTrue();
+        assertThat(healthMonitor.isServiceHealthy("probe-2")).isTrue();
+        assertThat(healthMonitor.isServiceHealthy("probe-3")).isTrue();
+    }
+
+    @Test
+    void shouldSkipProbesBeyondConcurrencyLimit() throws InterruptedException {
+        gatewayConfig.getHealthCheck().setMaxConcurrentProbes(1);
+        responseDelayMillis = 1500;
+
+        probeScheduler.start();
+        Thread.sleep(1300);
+
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        assertThat(probeScheduler.getSkippedProbes()).isPositive();
+    }
+
+    @Test
+    void shouldAdaptIntervalToInstanceState() {
+        assertThat(probeScheduler.intervalMillis(true, 0)).isEqualTo(1000);
+        assertThat(probeScheduler.intervalMillis(false, 0)).isEqualTo(1000);
+        assertThat(probeScheduler.intervalMillis(false, 2)).isEqualTo(2000);
+        assertThat(probeScheduler.intervalMillis(false, 4)).isEqualTo(4000);
+        assertThat(probeScheduler.intervalMillis(false, 100)).isEqualTo(8000);
+
+        gatewayConfig.getHealthCheck().setIntervalSeconds(10);
+        gatewayConfig.getHealthCheck().setMinIntervalSeconds(2);
+        assertThat(probeScheduler.intervalMillis(true, 50)).as("Degraded instances are probed at the minimum interval").isEqualTo(2000);
+        assertThat(probeScheduler.intervalMillis(false, 100)).as("Maximum never drops below the base interval").isEqualTo(10000);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.gateway.telemetry;
+
+import com.example.gateway.config.GatewayConfig;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class InstanceTelemetryCollectorTest {
+    private MockWebServer mockWebServer;
+    private InstanceTelemetryCollector telemetryCollector;
+    private GatewayConfig.ServiceInstance instance;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        telemetryCollector = new InstanceTelemetryCollector(WebClient.builder());
+
+        instance = new GatewayConfig.ServiceInstance();
+        instance.setId("telemetry-instance-1");
+        instance.setUrl(mockWebServer.url("/").toString().replaceAll("/$", ""));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private static MockResponse metric(String name, double value) {
+        return new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("{\"name\":\"" + name + "\",\"baseUnit\":\"bytes\",\"measurements\":[{\"statistic\":\"VALUE\",\"value\":" + value + "}],\"availableTags\":[]}");
+    }
+
+    @Test
+    void collect_shouldScrapeActuatorMetricsAndCacheSnapshot() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                if (path.startsWith("/actuator/metrics/process.cpu.usage")) {
+                    return metric("process.cpu.usage", 0.42);
+                } else if (path.startsWith("/actuator/metrics/jvm.memory.used")) {
+                    return metric("jvm.memory.used", 256.0);
+                } else if (path.startsWith("/actuator/metrics/jvm.memory.max")) {
+                    return metric("jvm.memory.max", 1024.0);
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+
+        StepVerifier.create(telemetryCollector.collect(instance, "/actuator/metrics")).assertNext(telemetry -> {
+            assertThat(telemetry.getInstanceId()).isEqualTo("telemetry-instance-1");
+            assertThat(telemetry.getCpuUsage()).isCloseTo(0.42, within(1e-9));
+            assertThat(telemetry.getMemoryUsage()).isCloseTo(0.25, within(1e-9));
+        }).verifyComplete();
+
+        InstanceTelemetry cached = telemetryCollector.getTelemetry("telemetry-instance-1");
+        assertThat(cached.getCpuUsage()).isCloseTo(0.42, within(1e-9));
+        assertThat(cached.getCollectedAt()).isNotNull();
+    }
+
+    @Test
+    void collect_shouldKeepPreviousSnapshotWhenScrapeFails() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        StepVerifier.create(telemetryCollector.collect(instance, "/actuator/metrics")).verifyComplete();
+
+        assertThat(telemetryCollector.getTelemetry("telemetry-instance-1")).isSameAs(InstanceTelemetry.UNKNOWN);
+    }
+
+    @Test
+    void collect_shouldGiveUpOnAnEndpointThatNeverAnswers() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE);
+            }
+        });
+
+        StepVerifier.create(telemetryCollector.collect(WebClient.create(), instance, "/actuator/metrics", Duration.ofMillis(200)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(2));
+
+        assertThat(telemetryCollector.getTelemetry("telemetry-instance-1")).isSameAs(InstanceTelemetry.UNKNOWN);
+    }
+
+    @Test
+    void getLoad_shouldTrackInFlightRequests() {
+        InstanceLoad load = telemetryCollector.getLoad("telemetry-instance-1");
+
+        load.requestStarted();
+        load.requestStarted();
+        load.requestFinished();
+
+        assertThat(telemetryCollector.getLoad("telemetry-instance-1").getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void getLoad_shouldWeighLatencyByOutstandingRequests() {
+        long[] now = {1_000_000_000L};
+        InstanceLoad load = new InstanceLoad(() -> now[0]);
+
+        load.recordLatency(100_000_000L);
+        assertThat(load.getEwmaLatencyNanos()).isCloseTo(100_000_000.0, within(1e-3));
+
+        load.recordLatency(200_000_000L);
+        assertThat(load.getEwmaLatencyNanos()).isCloseTo(130_000_000.0, within(1e-3));
+
+        double idleCost = load.cost();
+        load.requestStarted();
+        assertThat(load.cost()).isCloseTo(idleCost * 2, within(1e-3));
+
+        now[0] += 10_000_000_000L;
+        assertThat(load.getEwmaLatencyNanos()).isCloseTo(130_000_000.0 / Math.E, within(1.0));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.gateway.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void percentileShouldStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(1, TimeUnit.HOURS);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.percentile(0.50)).isBetween(TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.MILLISECONDS.toNanos(563));
+        assertThat(histogram.percentile(0.95)).isBetween(TimeUnit.MILLISECONDS.toNanos(950), TimeUnit.MILLISECONDS.toNanos(1069));
+    }
+
+    @Test
+    void bucketsShouldCoverEveryValueExactlyOnce() {
+        for (long micros = 0; micros < 10_000_000; micros += micros < 2048 ? 1 : 977) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            assertThat(LatencyHistogram.upperBoundOf(bucket)).isGreaterThanOrEqualTo(micros);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.upperBoundOf(bucket - 1)).isLessThan(micros);
+            }
+        }
+    }
+
+    @Test
+    void emptyHistogramShouldReportZero() {
+        assertThat(new LatencyHistogram(1, TimeUnit.SECONDS).percentile(0.99)).isZero();
+    }
+}